@@ -3,6 +3,7 @@ package gg.kite;
 import gg.kite.command.IslandCommand;
 import gg.kite.service.*;
 import gg.kite.storage.DatabaseService;
+import gg.kite.storage.IslandWriteQueue;
 import gg.kite.ui.IslandGuiHandler;
 import gg.kite.util.MessageUtil;
 import jakarta.inject.Inject;
@@ -12,49 +13,85 @@ import org.bukkit.plugin.java.JavaPlugin;
 public class PluginInitializer {
     private final JavaPlugin plugin;
     private final DatabaseService databaseService;
+    private final IslandWriteQueue writeQueue;
     private final SchematicService schematicService;
+    private final IslandPoolService islandPoolService;
+    private final IslandEditService editService;
     private final EconomyService economyService;
     private final IslandService islandService;
-    private final MinionProtectionService minionProtectionService;
+    private final IslandCacheService islandCacheService;
+    private final ProtectionService protectionService;
     private final TeamService teamService;
     private final UpgradeService upgradeService;
     private final IslandGuiHandler guiHandler;
+    private final TeleportService teleportService;
+    private final SafeSpawnService safeSpawnService;
+    private final IslandLifecycleService lifecycleService;
+    private final UpgradeRegistryService upgradeRegistry;
     private final MessageUtil messageUtil;
 
     @Inject
-    public PluginInitializer(JavaPlugin plugin, DatabaseService databaseService,
-                             SchematicService schematicService, EconomyService economyService,
-                             IslandService islandService, MinionProtectionService minionProtectionService,
+    public PluginInitializer(JavaPlugin plugin, DatabaseService databaseService, IslandWriteQueue writeQueue,
+                             SchematicService schematicService, IslandPoolService islandPoolService,
+                             IslandEditService editService,
+                             EconomyService economyService,
+                             IslandService islandService, IslandCacheService islandCacheService,
+                             ProtectionService protectionService,
                              TeamService teamService, UpgradeService upgradeService,
-                             IslandGuiHandler guiHandler) {
+                             IslandGuiHandler guiHandler, TeleportService teleportService,
+                             SafeSpawnService safeSpawnService, IslandLifecycleService lifecycleService,
+                             UpgradeRegistryService upgradeRegistry) {
         this.plugin = plugin;
         this.databaseService = databaseService;
+        this.writeQueue = writeQueue;
         this.schematicService = schematicService;
+        this.islandPoolService = islandPoolService;
+        this.editService = editService;
         this.economyService = economyService;
         this.islandService = islandService;
-        this.minionProtectionService = minionProtectionService;
+        this.islandCacheService = islandCacheService;
+        this.protectionService = protectionService;
         this.teamService = teamService;
         this.upgradeService = upgradeService;
         this.guiHandler = guiHandler;
+        this.teleportService = teleportService;
+        this.safeSpawnService = safeSpawnService;
+        this.lifecycleService = lifecycleService;
+        this.upgradeRegistry = upgradeRegistry;
         this.messageUtil = new MessageUtil(plugin);
     }
 
     public void initialize() {
         databaseService.initialize();
+        writeQueue.start();
+        islandService.initialize();
+        teamService.loadPendingInvites();
         schematicService.initialize();
         economyService.initialize();
         PluginCommand islandCommand = plugin.getCommand("island");
         if (islandCommand != null) {
-            islandCommand.setExecutor(new IslandCommand(islandService, guiHandler, teamService, messageUtil));
+            islandCommand.setExecutor(new IslandCommand(islandService, guiHandler, teamService, schematicService,
+                    islandPoolService, teleportService, upgradeRegistry, messageUtil));
         }
         plugin.getServer().getPluginManager().registerEvents(guiHandler, plugin);
-        plugin.getServer().getPluginManager().registerEvents(minionProtectionService, plugin);
+        plugin.getServer().getPluginManager().registerEvents(protectionService, plugin);
         plugin.getServer().getPluginManager().registerEvents(upgradeService, plugin);
+        plugin.getServer().getPluginManager().registerEvents(islandCacheService, plugin);
+        plugin.getServer().getPluginManager().registerEvents(islandPoolService, plugin);
+        plugin.getServer().getPluginManager().registerEvents(safeSpawnService, plugin);
+        plugin.getServer().getPluginManager().registerEvents(lifecycleService, plugin);
         teamService.startInviteCleanupTask();
+        islandCacheService.startEvictionTask();
+        islandPoolService.start();
+        teleportService.start();
+        lifecycleService.start();
     }
 
     public void shutdown() {
+        // Settle in-flight pastes and clears first; their callbacks may still update island records.
+        editService.shutdown();
         islandService.saveAllIslands();
+        writeQueue.shutdown();
         databaseService.shutdown();
     }
 }
\ No newline at end of file
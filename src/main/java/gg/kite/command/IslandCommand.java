@@ -3,8 +3,12 @@ package gg.kite.command;
 import gg.kite.model.Island;
 import gg.kite.model.IslandType;
 import gg.kite.model.UpgradeType;
+import gg.kite.service.IslandPoolService;
 import gg.kite.service.IslandService;
+import gg.kite.service.SchematicService;
 import gg.kite.service.TeamService;
+import gg.kite.service.TeleportService;
+import gg.kite.service.UpgradeRegistryService;
 import gg.kite.ui.IslandGuiHandler;
 import gg.kite.util.MessageUtil;
 import net.kyori.adventure.text.Component;
@@ -23,13 +27,23 @@ public class IslandCommand implements CommandExecutor {
     private final IslandService islandService;
     private final IslandGuiHandler guiHandler;
     private final TeamService teamService;
+    private final SchematicService schematicService;
+    private final IslandPoolService islandPoolService;
+    private final TeleportService teleportService;
+    private final UpgradeRegistryService upgradeRegistry;
     private final MessageUtil messageUtil;
 
-    public IslandCommand(IslandService islandService, IslandGuiHandler guiHandler,
-                         TeamService teamService, MessageUtil messageUtil) {
+    public IslandCommand(IslandService islandService, IslandGuiHandler guiHandler, TeamService teamService,
+                         SchematicService schematicService, IslandPoolService islandPoolService,
+                         TeleportService teleportService,
+                         UpgradeRegistryService upgradeRegistry, MessageUtil messageUtil) {
         this.islandService = islandService;
         this.guiHandler = guiHandler;
         this.teamService = teamService;
+        this.schematicService = schematicService;
+        this.islandPoolService = islandPoolService;
+        this.teleportService = teleportService;
+        this.upgradeRegistry = upgradeRegistry;
         this.messageUtil = messageUtil;
     }
 
@@ -56,34 +70,32 @@ public class IslandCommand implements CommandExecutor {
                 if (args.length == 2 && sender.hasPermission("beachislands.admin")) {
                     try {
                         IslandType type = IslandType.valueOf(args[1].toUpperCase());
-                        if (islandService.createIsland(player, type)) {
-                            player.sendMessage(messageUtil.getMessage("island-created"));
-                        }
+                        islandService.createIsland(player, type);
                     } catch (IllegalArgumentException e) {
                         player.sendMessage(messageUtil.getMessage("invalid-island-type"));
                     }
                 } else {
-                    islandService.getIsland(player).ifPresentOrElse(
+                    islandService.withIsland(player, player.getUniqueId(), owned -> owned.ifPresentOrElse(
                             island -> player.sendMessage(messageUtil.getMessage("island-exists")),
-                            () -> guiHandler.openCreateGui(player));
+                            () -> guiHandler.openCreateGui(player)));
                 }
                 break;
             case "delete":
-                islandService.getIsland(player).ifPresentOrElse(
+                islandService.withIsland(player, player.getUniqueId(), owned -> owned.ifPresentOrElse(
                         island -> guiHandler.openDeleteConfirmGui(player),
-                        () -> player.sendMessage(messageUtil.getMessage("island-not-found")));
+                        () -> player.sendMessage(messageUtil.getMessage("island-not-found"))));
                 break;
             case "confirm_delete":
-                islandService.getIsland(player).ifPresentOrElse(
+                islandService.withIsland(player, player.getUniqueId(), owned -> owned.ifPresentOrElse(
                         island -> {
                             if (islandService.deleteIsland(player)) {
                                 player.sendMessage(messageUtil.getMessage("island-deleted"));
                             }
                         },
-                        () -> player.sendMessage(messageUtil.getMessage("no-island-to-delete")));
+                        () -> player.sendMessage(messageUtil.getMessage("no-island-to-delete"))));
                 break;
             case "upgrade":
-                islandService.getIsland(player).ifPresentOrElse(
+                islandService.withIsland(player, player.getUniqueId(), owned -> owned.ifPresentOrElse(
                         island -> {
                             if (args.length == 2) {
                                 try {
@@ -100,7 +112,7 @@ public class IslandCommand implements CommandExecutor {
                                 guiHandler.openUpgradeGui(player);
                             }
                         },
-                        () -> player.sendMessage(messageUtil.getMessage("island-not-found")));
+                        () -> player.sendMessage(messageUtil.getMessage("island-not-found"))));
                 break;
             case "invite":
                 if (args.length == 2) {
@@ -139,18 +151,21 @@ public class IslandCommand implements CommandExecutor {
                 }
                 break;
             case "home":
-                islandService.getIsland(player).ifPresentOrElse(
+                islandService.withIsland(player, islandService.ownerOf(player.getUniqueId()), found -> found.ifPresentOrElse(
                         island -> {
-                            player.teleport(island.center());
-                            player.sendMessage(messageUtil.getMessage("home-teleported"));
+                            teleportService.teleport(player, island).thenAccept(teleported -> {
+                                if (teleported) {
+                                    player.sendMessage(messageUtil.getMessage("home-teleported"));
+                                }
+                            });
                         },
-                        () -> player.sendMessage(messageUtil.getMessage("island-not-found")));
+                        () -> player.sendMessage(messageUtil.getMessage("island-not-found"))));
                 break;
             case "kick":
                 if (args.length == 2) {
                     Player target = player.getServer().getPlayer(args[1]);
                     if (target != null) {
-                        islandService.getIsland(player).ifPresentOrElse(
+                        islandService.withIsland(player, islandService.ownerOf(player.getUniqueId()), found -> found.ifPresentOrElse(
                                 island -> {
                                     if (!island.owner().equals(player.getUniqueId())) {
                                         player.sendMessage(messageUtil.getMessage("kick-not-owner"));
@@ -158,7 +173,7 @@ public class IslandCommand implements CommandExecutor {
                                         teamService.kickMember(player, target);
                                     }
                                 },
-                                () -> player.sendMessage(messageUtil.getMessage("island-not-found")));
+                                () -> player.sendMessage(messageUtil.getMessage("island-not-found"))));
                     } else {
                         player.sendMessage(messageUtil.getMessage("player-not-found"));
                     }
@@ -170,17 +185,34 @@ public class IslandCommand implements CommandExecutor {
                 teamService.leaveIsland(player);
                 break;
             case "info":
-                islandService.getIsland(player).ifPresentOrElse(
+                islandService.withIsland(player, islandService.ownerOf(player.getUniqueId()), found -> found.ifPresentOrElse(
                         island -> displayIslandInfo(player, island),
-                        () -> player.sendMessage(messageUtil.getMessage("island-not-found")));
+                        () -> player.sendMessage(messageUtil.getMessage("island-not-found"))));
                 break;
             case "admin":
                 if (!sender.hasPermission("beachislands.admin")) {
                     sender.sendMessage(messageUtil.getMessage("no-permission"));
                     return true;
                 }
+                if (args.length == 2 && args[1].equalsIgnoreCase("reloadschematics")) {
+                    SchematicService.ReloadResult reload = schematicService.reloadSchematics();
+                    // Only pooled islands pasted from a replaced schematic are out of date.
+                    islandPoolService.flush(reload.replaced());
+                    Map<IslandType, Long> loaded = reload.loaded();
+                    loaded.forEach((type, bytes) -> player.sendMessage(messageUtil.getMessage("admin-schematic-cached",
+                            Map.of("type", type.getDisplayName(), "size", String.valueOf(bytes / 1024)))));
+                    player.sendMessage(messageUtil.getMessage("admin-schematics-reloaded", Map.of(
+                            "count", String.valueOf(loaded.size()),
+                            "total", String.valueOf(IslandType.values().length))));
+                    return true;
+                }
+                if (args.length == 2 && args[1].equalsIgnoreCase("reloadupgrades")) {
+                    upgradeRegistry.reload();
+                    player.sendMessage(messageUtil.getMessage("admin-upgrades-reloaded"));
+                    return true;
+                }
                 if (args.length < 3) {
-                    player.sendMessage(Component.text("Use: /island admin <delete|tp|reset> <player>", NamedTextColor.RED));
+                    player.sendMessage(Component.text("Use: /island admin <delete|tp|reset> <player> | /island admin <reloadschematics|reloadupgrades>", NamedTextColor.RED));
                     return true;
                 }
                 Player target = player.getServer().getPlayer(args[2]);
@@ -190,24 +222,24 @@ public class IslandCommand implements CommandExecutor {
                 }
                 switch (args[1].toLowerCase()) {
                     case "delete":
-                        islandService.getIslandByOwner(target.getUniqueId()).ifPresentOrElse(
+                        islandService.withIsland(player, target.getUniqueId(), owned -> owned.ifPresentOrElse(
                                 island -> {
                                     if (islandService.deleteIsland(target)) {
                                         player.sendMessage(messageUtil.getMessage("admin-deleted", Map.of("player", target.getName())));
                                     }
                                 },
-                                () -> player.sendMessage(messageUtil.getMessage("admin-no-island", Map.of("player", target.getName()))));
+                                () -> player.sendMessage(messageUtil.getMessage("admin-no-island", Map.of("player", target.getName())))));
                         break;
                     case "tp":
-                        islandService.getIslandByOwner(target.getUniqueId()).ifPresentOrElse(
+                        islandService.withIsland(player, target.getUniqueId(), owned -> owned.ifPresentOrElse(
                                 island -> {
-                                    player.teleport(island.center());
+                                    teleportService.teleport(player, island);
                                     player.sendMessage(messageUtil.getMessage("admin-tp", Map.of("player", target.getName())));
                                 },
-                                () -> player.sendMessage(messageUtil.getMessage("admin-no-island", Map.of("player", target.getName()))));
+                                () -> player.sendMessage(messageUtil.getMessage("admin-no-island", Map.of("player", target.getName())))));
                         break;
                     case "reset":
-                        islandService.getIslandByOwner(target.getUniqueId()).ifPresentOrElse(
+                        islandService.withIsland(player, target.getUniqueId(), owned -> owned.ifPresentOrElse(
                                 island -> {
                                     try {
                                         IslandType type = IslandType.valueOf(island.type().name());
@@ -218,7 +250,7 @@ public class IslandCommand implements CommandExecutor {
                                         player.sendMessage(messageUtil.getMessage("invalid-island-type"));
                                     }
                                 },
-                                () -> player.sendMessage(messageUtil.getMessage("admin-no-island", Map.of("player", target.getName()))));
+                                () -> player.sendMessage(messageUtil.getMessage("admin-no-island", Map.of("player", target.getName())))));
                         break;
                     default:
                         player.sendMessage(Component.text("Invalid admin subcommand!", NamedTextColor.RED));
@@ -241,7 +273,7 @@ public class IslandCommand implements CommandExecutor {
                 .collect(Collectors.joining(", "));
         player.sendMessage(messageUtil.getMessage("info-members", Map.of("members", members.isEmpty() ? "None" : members)));
         String upgrades = island.upgrades().entrySet().stream()
-                .map(entry -> entry.getKey() + ": " + entry.getValue())
+                .map(entry -> upgradeRegistry.registry().displayName(entry.getKey()) + ": " + entry.getValue())
                 .collect(Collectors.joining(", "));
         player.sendMessage(messageUtil.getMessage("info-upgrades", Map.of("upgrades", upgrades.isEmpty() ? "None" : upgrades)));
     }
@@ -0,0 +1,10 @@
+package gg.kite.model;
+
+/**
+ * What an island's upgrades are worth right now: the chance that a crop growth
+ * or ore break is boosted, and the extra minions its owner may place.
+ *
+ * @param source the table the profile was built from, so it can be rebuilt after a reload
+ */
+public record EffectProfile(UpgradeRegistry source, double cropsChance, double oreChance, int minionBonus) {
+}
\ No newline at end of file
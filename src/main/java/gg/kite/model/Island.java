@@ -1,33 +1,221 @@
 package gg.kite.model;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
-public record Island(UUID owner, IslandType type, Location center, int borderSize,
-                     Map<String, Integer> upgrades, Set<UUID> members) {
-    public Island {
-        Objects.requireNonNull(owner, "Owner cannot be null");
-        Objects.requireNonNull(type, "Type cannot be null");
-        Objects.requireNonNull(center, "Center cannot be null");
-        borderSize = Math.max(75, borderSize);
-        upgrades = new HashMap<>(upgrades);
-        members = new HashSet<>(members);
+/**
+ * Compact, immutable island snapshot. Upgrade levels live in an array indexed by
+ * {@link UpgradeType#ordinal()}, members are packed as most/least significant
+ * bit pairs and the center is kept as primitive coordinates plus a world id,
+ * so reading an upgrade level or testing membership never allocates.
+ * <p>
+ * Every change produces a new snapshot with a higher {@link #version()}; the
+ * arrays are never written after construction, so snapshots can be shared with
+ * any thread without locking.
+ */
+public final class Island {
+    public static final int BASE_BORDER_SIZE = 75;
+    private static final UpgradeType[] UPGRADE_TYPES = UpgradeType.values();
+    private static final long[] NO_MEMBERS = new long[0];
+
+    private final UUID owner;
+    private final IslandType type;
+    private final UUID worldId;
+    private final double x;
+    private final double y;
+    private final double z;
+    private final int borderSize;
+    private final int[] upgradeLevels;
+    private final long[] members;
+    private final long version;
+    // Derived from the fields above, so racing threads at worst build it twice.
+    private @Nullable EffectProfile effects;
+
+    public Island(UUID owner, IslandType type, UUID worldId, double x, double y, double z, int borderSize,
+                  int @NotNull [] upgradeLevels, long @NotNull [] members) {
+        this(owner, type, worldId, x, y, z, borderSize,
+                Arrays.copyOf(upgradeLevels, UPGRADE_TYPES.length),
+                members.length == 0 ? NO_MEMBERS : members.clone(), 0L);
+    }
+
+    private Island(UUID owner, IslandType type, UUID worldId, double x, double y, double z, int borderSize,
+                   int[] upgradeLevels, long[] members, long version) {
+        this.owner = Objects.requireNonNull(owner, "Owner cannot be null");
+        this.type = Objects.requireNonNull(type, "Type cannot be null");
+        this.worldId = Objects.requireNonNull(worldId, "World cannot be null");
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.borderSize = Math.max(BASE_BORDER_SIZE, borderSize);
+        this.upgradeLevels = upgradeLevels;
+        this.members = members;
+        this.version = version;
     }
 
     @Contract("_, _, _ -> new")
-    public static @NotNull Island createNew(@NotNull Player player, IslandType type, Location center) {
-        return new Island(player.getUniqueId(), type, center, 75,
-                new HashMap<>(), new HashSet<>());
+    public static @NotNull Island createNew(@NotNull Player player, IslandType type, @NotNull Location center) {
+        return new Island(player.getUniqueId(), type, center.getWorld().getUID(),
+                center.getX(), center.getY(), center.getZ(), BASE_BORDER_SIZE,
+                new int[UPGRADE_TYPES.length], NO_MEMBERS);
+    }
+
+    public static long @NotNull [] packMembers(@NotNull Collection<UUID> members) {
+        long[] packed = new long[members.size() * 2];
+        int i = 0;
+        for (UUID member : members) {
+            packed[i++] = member.getMostSignificantBits();
+            packed[i++] = member.getLeastSignificantBits();
+        }
+        return packed;
+    }
+
+    public UUID owner() {
+        return owner;
+    }
+
+    public IslandType type() {
+        return type;
+    }
+
+    public UUID worldId() {
+        return worldId;
+    }
+
+    public @Nullable World world() {
+        return Bukkit.getWorld(worldId);
+    }
+
+    public double x() {
+        return x;
+    }
+
+    public double y() {
+        return y;
+    }
+
+    public double z() {
+        return z;
+    }
+
+    @Contract(" -> new")
+    public @NotNull Location center() {
+        return new Location(world(), x, y, z);
+    }
+
+    public int borderSize() {
+        return borderSize;
+    }
+
+    public int upgradeLevel(@NotNull UpgradeType upgradeType) {
+        return upgradeLevels[upgradeType.ordinal()];
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public @NotNull Map<UpgradeType, Integer> upgrades() {
+        Map<UpgradeType, Integer> upgrades = new EnumMap<>(UpgradeType.class);
+        for (UpgradeType upgradeType : UPGRADE_TYPES) {
+            int level = upgradeLevels[upgradeType.ordinal()];
+            if (level != 0) {
+                upgrades.put(upgradeType, level);
+            }
+        }
+        return upgrades;
+    }
+
+    public int memberCount() {
+        return members.length / 2;
+    }
+
+    public boolean isMember(@NotNull UUID player) {
+        long most = player.getMostSignificantBits();
+        long least = player.getLeastSignificantBits();
+        for (int i = 0; i < members.length; i += 2) {
+            if (members[i] == most && members[i + 1] == least) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public @NotNull Set<UUID> members() {
+        Set<UUID> unpacked = new HashSet<>(memberCount() * 2);
+        for (int i = 0; i < members.length; i += 2) {
+            unpacked.add(new UUID(members[i], members[i + 1]));
+        }
+        return unpacked;
+    }
+
+    @Contract("_, _ -> new")
+    public @NotNull Island withUpgradeLevel(@NotNull UpgradeType upgradeType, int level) {
+        int[] levels = upgradeLevels.clone();
+        levels[upgradeType.ordinal()] = level;
+        return new Island(owner, type, worldId, x, y, z, borderSize, levels, members, version + 1);
+    }
+
+    public @NotNull Island withMember(@NotNull UUID member) {
+        if (isMember(member)) {
+            return this;
+        }
+        long[] grown = Arrays.copyOf(members, members.length + 2);
+        grown[members.length] = member.getMostSignificantBits();
+        grown[members.length + 1] = member.getLeastSignificantBits();
+        return new Island(owner, type, worldId, x, y, z, borderSize, upgradeLevels, grown, version + 1);
+    }
+
+    public @NotNull Island withoutMember(@NotNull UUID member) {
+        long most = member.getMostSignificantBits();
+        long least = member.getLeastSignificantBits();
+        for (int i = 0; i < members.length; i += 2) {
+            if (members[i] == most && members[i + 1] == least) {
+                long[] shrunk = members.length == 2 ? NO_MEMBERS : new long[members.length - 2];
+                System.arraycopy(members, 0, shrunk, 0, i);
+                System.arraycopy(members, i + 2, shrunk, i, members.length - i - 2);
+                return new Island(owner, type, worldId, x, y, z, borderSize, upgradeLevels, shrunk, version + 1);
+            }
+        }
+        return this;
+    }
+
+    @Contract("_ -> new")
+    public @NotNull Island withBorderSize(int borderSize) {
+        return new Island(owner, type, worldId, x, y, z, Math.max(BASE_BORDER_SIZE, borderSize),
+                upgradeLevels, members, version + 1);
+    }
+
+    @Contract(" -> new")
+    public @NotNull Island cleared() {
+        return new Island(owner, type, worldId, x, y, z, BASE_BORDER_SIZE,
+                new int[UPGRADE_TYPES.length], NO_MEMBERS, version + 1);
+    }
+
+    /**
+     * Returns this snapshot's upgrade effects under {@code registry}, built on
+     * first use. Buying an upgrade yields a new snapshot and a config reload a new
+     * registry, so the profile is only rebuilt after one of those.
+     */
+    public @NotNull EffectProfile effects(@NotNull UpgradeRegistry registry) {
+        EffectProfile profile = effects;
+        if (profile == null || profile.source() != registry) {
+            profile = registry.profileOf(this);
+            effects = profile;
+        }
+        return profile;
     }
 
     public boolean isWithinBorder(@NotNull Location location) {
         double halfSize = borderSize / 2.0;
-        return location.getWorld().equals(center.getWorld()) &&
-                Math.abs(location.getX() - center.getX()) <= halfSize &&
-                Math.abs(location.getZ() - center.getZ()) <= halfSize;
+        return location.getWorld().getUID().equals(worldId) &&
+                Math.abs(location.getX() - x) <= halfSize &&
+                Math.abs(location.getZ() - z) <= halfSize;
     }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package gg.kite.model;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+public record IslandBounds(UUID owner, UUID worldId, int minX, int minZ, int maxX, int maxZ) {
+    @Contract("_ -> new")
+    public static @NotNull IslandBounds of(@NotNull Island island) {
+        return of(island.owner(), island.worldId(), island.x(), island.z(), island.borderSize());
+    }
+
+    @Contract("_, _, _, _, _ -> new")
+    public static @NotNull IslandBounds of(UUID owner, UUID worldId, double centerX, double centerZ, int borderSize) {
+        double halfSize = borderSize / 2.0;
+        return new IslandBounds(owner, worldId,
+                (int) Math.ceil(centerX - halfSize),
+                (int) Math.ceil(centerZ - halfSize),
+                (int) Math.floor(centerX + halfSize),
+                (int) Math.floor(centerZ + halfSize));
+    }
+
+    public boolean contains(int x, int z) {
+        return x >= minX && x <= maxX && z >= minZ && z <= maxZ;
+    }
+}
\ No newline at end of file
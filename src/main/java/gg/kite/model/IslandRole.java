@@ -0,0 +1,14 @@
+package gg.kite.model;
+
+/**
+ * What a player is to the island they are acting on.
+ */
+public enum IslandRole {
+    OWNER,
+    MEMBER,
+    VISITOR;
+
+    public boolean canBuild() {
+        return this != VISITOR;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package gg.kite.model;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * An island that has already been pasted and bordered but has no owner yet.
+ */
+public record PooledIsland(long id, IslandType type, UUID worldId, double x, double y, double z) {
+    @Contract(" -> new")
+    public @NotNull Location center() {
+        return new Location(Bukkit.getWorld(worldId), x, y, z);
+    }
+}
\ No newline at end of file
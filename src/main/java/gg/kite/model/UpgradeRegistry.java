@@ -0,0 +1,137 @@
+package gg.kite.model;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Upgrade definitions compiled from {@code upgrades.*}: names, level caps and
+ * increments, the cost of every level and effect per level, and for boosters a
+ * table indexed by {@link Material#ordinal()} of the blocks they affect. Built
+ * once per config load, so every lookup on the hot path is an array read.
+ */
+public final class UpgradeRegistry {
+    private static final UpgradeType[] UPGRADE_TYPES = UpgradeType.values();
+    private static final Material[] MATERIALS = Material.values();
+
+    private final String[] displayNames;
+    private final int[] maxLevels;
+    private final int[] increments;
+    private final double[][] costs;
+    private final boolean[][] blocks;
+    private final double[] cropsChance;
+    private final double[] oreChance;
+    private final int[] minionBonus;
+
+    private UpgradeRegistry(@NotNull ConfigurationSection config, @NotNull Logger logger) {
+        int count = UPGRADE_TYPES.length;
+        this.displayNames = new String[count];
+        this.maxLevels = new int[count];
+        this.increments = new int[count];
+        this.costs = new double[count][];
+        this.blocks = new boolean[count][];
+        for (UpgradeType type : UPGRADE_TYPES) {
+            String path = "upgrades." + type.getConfigKey() + ".";
+            int index = type.ordinal();
+            displayNames[index] = config.getString(path + "display-name", type.defaultDisplayName());
+            maxLevels[index] = Math.max(0, config.getInt(path + "max-level", type.defaultMaxLevel()));
+            increments[index] = Math.max(1, config.getInt(path + "increment", type.defaultIncrement()));
+            costs[index] = costs(config.getDouble(path + "base-cost", type.defaultBaseCost()),
+                    config.getDouble(path + "cost-multiplier", 1.5), maxLevels[index]);
+            if (config.contains(path + "blocks")) {
+                blocks[index] = blocks(config.getStringList(path + "blocks"), type, logger);
+            }
+        }
+        this.cropsChance = chances(UpgradeType.CROPS_BOOSTER, multiplier(config, UpgradeType.CROPS_BOOSTER));
+        this.oreChance = chances(UpgradeType.ORE_BOOSTER, multiplier(config, UpgradeType.ORE_BOOSTER));
+        this.minionBonus = new int[maxLevel(UpgradeType.MINION_LIMIT) + 1];
+        for (int level = 0; level < minionBonus.length; level++) {
+            minionBonus[level] = level * increment(UpgradeType.MINION_LIMIT);
+        }
+    }
+
+    @Contract("_, _ -> new")
+    public static @NotNull UpgradeRegistry fromConfig(@NotNull ConfigurationSection config, @NotNull Logger logger) {
+        return new UpgradeRegistry(config, logger);
+    }
+
+    private static double multiplier(@NotNull ConfigurationSection config, @NotNull UpgradeType type) {
+        // Older configs kept the multiplier next to the other upgrades as "<key>-multiplier".
+        return config.getDouble("upgrades." + type.getConfigKey() + ".multiplier",
+                config.getDouble("upgrades." + type.getConfigKey() + "-multiplier", 1.5));
+    }
+
+    private static double @NotNull [] costs(double baseCost, double multiplier, int maxLevel) {
+        double[] costs = new double[maxLevel + 1];
+        for (int level = 0; level <= maxLevel; level++) {
+            costs[level] = baseCost * Math.pow(multiplier, level);
+        }
+        return costs;
+    }
+
+    private static boolean @NotNull [] blocks(@NotNull List<String> names, @NotNull UpgradeType type, @NotNull Logger logger) {
+        boolean[] table = new boolean[MATERIALS.length];
+        for (String name : names) {
+            Material material = Material.matchMaterial(name);
+            if (material == null || !material.isBlock()) {
+                logger.warning("Unknown block '" + name + "' in upgrades." + type.getConfigKey() + ".blocks");
+                continue;
+            }
+            table[material.ordinal()] = true;
+        }
+        return table;
+    }
+
+    private double @NotNull [] chances(@NotNull UpgradeType type, double multiplier) {
+        double[] chances = new double[maxLevel(type) + 1];
+        for (int level = 0; level < chances.length; level++) {
+            chances[level] = Math.max(0.0, Math.min(1.0, (multiplier - 1) * level));
+        }
+        return chances;
+    }
+
+    public String displayName(@NotNull UpgradeType type) {
+        return displayNames[type.ordinal()];
+    }
+
+    public int maxLevel(@NotNull UpgradeType type) {
+        return maxLevels[type.ordinal()];
+    }
+
+    public int increment(@NotNull UpgradeType type) {
+        return increments[type.ordinal()];
+    }
+
+    /**
+     * Price of buying the next step from {@code currentLevel}.
+     */
+    public double cost(@NotNull UpgradeType type, int currentLevel) {
+        double[] levels = costs[type.ordinal()];
+        return levels[Math.max(0, Math.min(currentLevel, levels.length - 1))];
+    }
+
+    /**
+     * Whether {@code material} is one of the blocks the upgrade affects. Upgrades
+     * without a block list affect no blocks.
+     */
+    public boolean affects(@NotNull UpgradeType type, @NotNull Material material) {
+        boolean[] table = blocks[type.ordinal()];
+        return table != null && table[material.ordinal()];
+    }
+
+    @Contract("_ -> new")
+    public @NotNull EffectProfile profileOf(@NotNull Island island) {
+        return new EffectProfile(this,
+                atLevel(cropsChance, island.upgradeLevel(UpgradeType.CROPS_BOOSTER)),
+                atLevel(oreChance, island.upgradeLevel(UpgradeType.ORE_BOOSTER)),
+                minionBonus[Math.max(0, Math.min(island.upgradeLevel(UpgradeType.MINION_LIMIT), minionBonus.length - 1))]);
+    }
+
+    private static double atLevel(double @NotNull [] values, int level) {
+        return values[Math.max(0, Math.min(level, values.length - 1))];
+    }
+}
\ No newline at end of file
@@ -1,5 +1,11 @@
 package gg.kite.model;
 
+/**
+ * The upgrades an island can buy. The constants key persisted levels and the
+ * per-island level array, and each fixes what its upgrade does; everything a
+ * server may tune lives under {@code upgrades.<config-key>} and is compiled into
+ * an {@link UpgradeRegistry}. The values here are the defaults.
+ */
 public enum UpgradeType {
     BORDER("Border Expansion", 100, 10, 5000),
     CROPS_BOOSTER("Crops Booster", 5, 1, 2000),
@@ -10,27 +16,33 @@ public enum UpgradeType {
     private final int maxLevel;
     private final int increment;
     private final double baseCost;
+    private final String configKey;
 
     UpgradeType(String displayName, int maxLevel, int increment, double baseCost) {
         this.displayName = displayName;
         this.maxLevel = maxLevel;
         this.increment = increment;
         this.baseCost = baseCost;
+        this.configKey = name().toLowerCase().replace('_', '-');
     }
 
-    public String getDisplayName() {
+    public String getConfigKey() {
+        return configKey;
+    }
+
+    String defaultDisplayName() {
         return displayName;
     }
 
-    public int getMaxLevel() {
+    int defaultMaxLevel() {
         return maxLevel;
     }
 
-    public int getIncrement() {
+    int defaultIncrement() {
         return increment;
     }
 
-    public double getCost(int currentLevel) {
-        return baseCost * Math.pow(1.5, currentLevel);
+    double defaultBaseCost() {
+        return baseCost;
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import gg.kite.Main;
 import gg.kite.PluginInitializer;
 import gg.kite.service.*;
 import gg.kite.storage.DatabaseService;
+import gg.kite.storage.IslandWriteQueue;
 import gg.kite.ui.IslandGuiHandler;
 import org.bukkit.plugin.java.JavaPlugin;
 
@@ -18,12 +19,24 @@ public class PluginModule extends AbstractModule {
     @Override
     protected void configure() {
         bind(JavaPlugin.class).toInstance(plugin);
+        bind(SchedulerService.class).asEagerSingleton();
+        bind(SafeSpawnService.class).asEagerSingleton();
+        bind(TeleportService.class).asEagerSingleton();
         bind(DatabaseService.class).asEagerSingleton();
+        bind(IslandWriteQueue.class).asEagerSingleton();
+        bind(IslandEditService.class).asEagerSingleton();
         bind(SchematicService.class).asEagerSingleton();
+        bind(IslandPoolService.class).asEagerSingleton();
+        bind(IslandSlotAllocator.class).asEagerSingleton();
         bind(EconomyService.class).asEagerSingleton();
+        bind(UpgradeRegistryService.class).asEagerSingleton();
         bind(IslandService.class).asEagerSingleton();
-        bind(MinionProtectionService.class).asEagerSingleton();
+        bind(IslandCacheService.class).asEagerSingleton();
+        bind(IslandLifecycleService.class).asEagerSingleton();
+        bind(ProtectionService.class).asEagerSingleton();
         bind(TeamService.class).asEagerSingleton();
+        bind(GrowthScheduler.class).asEagerSingleton();
+        bind(BonusDropService.class).asEagerSingleton();
         bind(UpgradeService.class).asEagerSingleton();
         bind(IslandGuiHandler.class).asEagerSingleton();
         bind(PluginInitializer.class).asEagerSingleton();
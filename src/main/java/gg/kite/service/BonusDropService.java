@@ -0,0 +1,119 @@
+package gg.kite.service;
+
+import com.google.inject.Inject;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Delivers booster bonus drops. With {@code upgrades.ore-booster.delivery} set to
+ * {@code inventory}, the bonuses a player earns during one tick are merged per
+ * material and put into their inventory at the end of it; only what does not fit
+ * is dropped at their feet, as few stacks as possible. With {@code drop}, every
+ * bonus is dropped where the block broke.
+ */
+public class BonusDropService {
+    private static final Material[] MATERIALS = Material.values();
+
+    private final SchedulerService scheduler;
+    private final Map<UUID, PendingDrops> pending;
+    private final boolean toInventory;
+
+    @Inject
+    public BonusDropService(@NotNull JavaPlugin plugin, SchedulerService scheduler) {
+        this.scheduler = scheduler;
+        this.pending = new ConcurrentHashMap<>();
+        this.toInventory = !"drop".equalsIgnoreCase(plugin.getConfig().getString("upgrades.ore-booster.delivery", "inventory"));
+    }
+
+    /**
+     * Gives {@code player} one bonus {@code material} for a block they broke at
+     * {@code location}. Must be called on the player's thread.
+     */
+    public void deliver(@NotNull Player player, @NotNull Material material, @NotNull Location location) {
+        if (!toInventory) {
+            location.getWorld().dropItemNaturally(location, new ItemStack(material));
+            return;
+        }
+        PendingDrops drops = pending.get(player.getUniqueId());
+        if (drops == null) {
+            drops = new PendingDrops(location);
+            pending.put(player.getUniqueId(), drops);
+            PendingDrops scheduled = drops;
+            scheduler.runFor(player, () -> flush(player, scheduled), () -> dropAt(scheduled));
+        }
+        drops.add(material);
+    }
+
+    private void flush(@NotNull Player player, @NotNull PendingDrops drops) {
+        pending.remove(player.getUniqueId(), drops);
+        Location feet = player.getLocation();
+        for (int i = 0; i < drops.size; i++) {
+            ItemStack stack = new ItemStack(MATERIALS[drops.materials[i]], drops.counts[i]);
+            int overflow = player.getInventory().addItem(stack).values().stream().mapToInt(ItemStack::getAmount).sum();
+            if (overflow > 0) {
+                drop(feet, MATERIALS[drops.materials[i]], overflow);
+            }
+        }
+    }
+
+    // The player left before the tick ended; leave the bonuses where they mined.
+    private void dropAt(@NotNull PendingDrops drops) {
+        pending.values().remove(drops);
+        scheduler.runAt(drops.origin, () -> {
+            for (int i = 0; i < drops.size; i++) {
+                drop(drops.origin, MATERIALS[drops.materials[i]], drops.counts[i]);
+            }
+        });
+    }
+
+    private static void drop(@NotNull Location location, @NotNull Material material, int amount) {
+        World world = location.getWorld();
+        int maxStackSize = Math.max(1, material.getMaxStackSize());
+        while (amount > 0) {
+            int size = Math.min(amount, maxStackSize);
+            world.dropItem(location, new ItemStack(material, size));
+            amount -= size;
+        }
+    }
+
+    /**
+     * Bonus counts per material, kept as parallel arrays since a player rarely
+     * mines more than a few kinds of ore in one tick.
+     */
+    private static final class PendingDrops {
+        private final Location origin;
+        private int[] materials = new int[4];
+        private int[] counts = new int[4];
+        private int size;
+
+        private PendingDrops(@NotNull Location origin) {
+            this.origin = origin;
+        }
+
+        private void add(@NotNull Material material) {
+            int ordinal = material.ordinal();
+            for (int i = 0; i < size; i++) {
+                if (materials[i] == ordinal) {
+                    counts[i]++;
+                    return;
+                }
+            }
+            if (size == materials.length) {
+                materials = Arrays.copyOf(materials, size * 2);
+                counts = Arrays.copyOf(counts, size * 2);
+            }
+            materials[size] = ordinal;
+            counts[size++] = 1;
+        }
+    }
+}
\ No newline at end of file
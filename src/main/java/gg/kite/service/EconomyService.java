@@ -44,4 +44,9 @@ public class EconomyService {
         }
         return economy.withdrawPlayer(player, amount).transactionSuccess();
     }
+
+    public boolean deposit(Player player, double amount) {
+        if (economy == null) return false;
+        return economy.depositPlayer(player, amount).transactionSuccess();
+    }
 }
\ No newline at end of file
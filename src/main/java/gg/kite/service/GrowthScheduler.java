@@ -0,0 +1,178 @@
+package gg.kite.service;
+
+import com.google.inject.Inject;
+import gg.kite.util.LongObjectHashMap;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.Ageable;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies boosted crop growth later and in bulk instead of inside the grow event.
+ * Extra growth stages are collected per chunk, and each chunk's batch runs as its
+ * own task on the region owning that chunk, so on Folia every region works off
+ * its own growth in parallel. Each thread spends at most
+ * {@code islands.growth.tick-budget-millis} per tick on growth; batches it cannot
+ * finish carry over to the next tick. Blocks are aged directly without physics,
+ * so no further grow events fire and a boost can never trigger another one. At
+ * most {@code islands.growth.max-pending} stages wait at once; boosts beyond that
+ * are dropped.
+ */
+public class GrowthScheduler {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50L);
+
+    private final SchedulerService scheduler;
+    private final Map<UUID, LongObjectHashMap<GrowthBatch>> batchesByWorld;
+    private final ThreadLocal<TickBudget> budgets;
+    private final long budgetNanos;
+    private final int maxPending;
+    private int pending;
+
+    @Inject
+    public GrowthScheduler(@NotNull JavaPlugin plugin, SchedulerService scheduler) {
+        this.scheduler = scheduler;
+        this.batchesByWorld = new HashMap<>();
+        this.budgets = ThreadLocal.withInitial(TickBudget::new);
+        this.budgetNanos = TimeUnit.MICROSECONDS.toNanos(
+                Math.max(100L, (long) (plugin.getConfig().getDouble("islands.growth.tick-budget-millis", 2.0) * 1000)));
+        this.maxPending = Math.max(0, plugin.getConfig().getInt("islands.growth.max-pending", 50_000));
+    }
+
+    /**
+     * Queues one extra growth stage for {@code block}. Returns {@code false} if the
+     * queue is full.
+     */
+    public synchronized boolean grow(@NotNull Block block) {
+        if (pending >= maxPending) {
+            return false;
+        }
+        World world = block.getWorld();
+        int chunkX = block.getX() >> 4;
+        int chunkZ = block.getZ() >> 4;
+        long key = IslandGrid.chunkKey(chunkX, chunkZ);
+        LongObjectHashMap<GrowthBatch> chunks = batchesByWorld.computeIfAbsent(world.getUID(), id -> new LongObjectHashMap<>());
+        GrowthBatch batch = chunks.get(key);
+        if (batch == null) {
+            batch = new GrowthBatch(world, chunkX, chunkZ);
+            chunks.put(key, batch);
+            schedule(batch);
+        }
+        batch.add(block.getX() & 15, block.getY() - world.getMinHeight(), block.getZ() & 15);
+        pending++;
+        return true;
+    }
+
+    private void schedule(@NotNull GrowthBatch batch) {
+        scheduler.runAtDelayed(batch.world, batch.chunkX, batch.chunkZ, () -> run(batch), 1L);
+    }
+
+    /**
+     * Applies {@code batch} on the region owning its chunk, within what is left of
+     * this thread's budget for the tick.
+     */
+    private void run(@NotNull GrowthBatch batch) {
+        detach(batch);
+        long now = System.nanoTime();
+        TickBudget budget = budgets.get();
+        if (now - budget.windowStart >= TICK_NANOS) {
+            budget.windowStart = now;
+            budget.spent = 0L;
+        }
+        long remaining = budgetNanos - budget.spent;
+        if (remaining <= 0L) {
+            schedule(batch);
+            return;
+        }
+        int applied = batch.apply(now + remaining);
+        budget.spent += System.nanoTime() - now;
+        synchronized (this) {
+            pending -= applied;
+        }
+        if (!batch.isDone()) {
+            schedule(batch); // Out of budget; carry on next tick.
+        }
+    }
+
+    /**
+     * Stops {@code batch} from taking new stages, so stages queued while it is
+     * applied start a new batch.
+     */
+    private synchronized void detach(@NotNull GrowthBatch batch) {
+        LongObjectHashMap<GrowthBatch> chunks = batchesByWorld.get(batch.world.getUID());
+        long key = IslandGrid.chunkKey(batch.chunkX, batch.chunkZ);
+        if (chunks != null && chunks.get(key) == batch) {
+            chunks.remove(key);
+            if (chunks.isEmpty()) {
+                batchesByWorld.remove(batch.world.getUID());
+            }
+        }
+    }
+
+    private static final class TickBudget {
+        private long windowStart;
+        private long spent;
+    }
+
+    private static final class GrowthBatch {
+        private final World world;
+        private final int chunkX;
+        private final int chunkZ;
+        private int[] positions = new int[8];
+        private int size;
+        private int next;
+
+        private GrowthBatch(@NotNull World world, int chunkX, int chunkZ) {
+            this.world = world;
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        private void add(int x, int y, int z) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = y << 8 | x << 4 | z;
+        }
+
+        private boolean isDone() {
+            return next == size;
+        }
+
+        /**
+         * Ages the queued blocks until done or past {@code deadline} and returns how
+         * many stages it consumed.
+         */
+        private int apply(long deadline) {
+            int start = next;
+            if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                next = size; // The chunk unloaded; its crops stopped growing anyway.
+                return next - start;
+            }
+            int baseX = chunkX << 4;
+            int baseZ = chunkZ << 4;
+            int minY = world.getMinHeight();
+            while (next < size) {
+                int packed = positions[next++];
+                Block block = world.getBlockAt(baseX + (packed >> 4 & 15), minY + (packed >>> 8), baseZ + (packed & 15));
+                BlockData data = block.getBlockData();
+                if (data instanceof Ageable ageable && ageable.getAge() < ageable.getMaximumAge()) {
+                    ageable.setAge(ageable.getAge() + 1);
+                    block.setBlockData(ageable, false);
+                }
+                // Check the clock every 64 blocks rather than after each one.
+                if ((next - start) % 64 == 0 && System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+            return next - start;
+        }
+    }
+}
\ No newline at end of file
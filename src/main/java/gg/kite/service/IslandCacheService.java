@@ -0,0 +1,118 @@
+package gg.kite.service;
+
+import com.google.inject.Inject;
+import gg.kite.model.Island;
+import gg.kite.storage.DatabaseService;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Loads islands on demand when lazy loading is enabled and evicts islands nobody
+ * is using. An island loads when its owner or a member logs in or when one of its
+ * chunks loads; it is evicted once no member is online, its center chunk is
+ * unloaded and it has been idle long enough or the cache is over capacity.
+ */
+public class IslandCacheService implements Listener {
+    private final JavaPlugin plugin;
+    private final IslandService islandService;
+    private final DatabaseService databaseService;
+    private final SchedulerService scheduler;
+    private final long idleMillis;
+    private final int maxCached;
+
+    @Inject
+    public IslandCacheService(@NotNull JavaPlugin plugin, IslandService islandService, DatabaseService databaseService,
+                              SchedulerService scheduler) {
+        this.plugin = plugin;
+        this.islandService = islandService;
+        this.databaseService = databaseService;
+        this.scheduler = scheduler;
+        this.idleMillis = plugin.getConfig().getLong("islands.lazy-loading.idle-minutes", 10L) * 60_000L;
+        this.maxCached = Math.max(1, plugin.getConfig().getInt("islands.lazy-loading.max-cached", 2000));
+    }
+
+    public void startEvictionTask() {
+        if (!islandService.isLazyLoading()) {
+            return;
+        }
+        scheduler.runGlobalTimer(this::evictIdleIslands, 20L * 60, 20L * 60); // Run every minute
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPreLogin(@NotNull AsyncPlayerPreLoginEvent event) {
+        if (!islandService.isLazyLoading() || event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            return;
+        }
+        List<Island> islands = new ArrayList<>(2);
+        databaseService.getIsland(event.getUniqueId()).ifPresent(islands::add);
+        databaseService.getIslandOwnerOfMember(event.getUniqueId())
+                .flatMap(databaseService::getIsland)
+                .ifPresent(islands::add);
+        if (!islands.isEmpty()) {
+            scheduler.runGlobal(() -> islandService.cacheLoaded(islands));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        UUID owner = islandService.ownerOf(event.getPlayer().getUniqueId());
+        if (owner != null) {
+            islandService.touch(owner);
+        }
+    }
+
+    @EventHandler
+    public void onChunkLoad(@NotNull ChunkLoadEvent event) {
+        if (!islandService.isLazyLoading()) {
+            return;
+        }
+        Chunk chunk = event.getChunk();
+        islandService.forEachIslandInChunk(chunk.getWorld(), chunk.getX(), chunk.getZ(), islandService::loadIslandAsync);
+    }
+
+    private void evictIdleIslands() {
+        long now = System.currentTimeMillis();
+        List<Island> candidates = new ArrayList<>();
+        for (Island island : islandService.getLoadedIslands()) {
+            if (isActive(island)) {
+                islandService.touch(island.owner());
+            } else {
+                candidates.add(island);
+            }
+        }
+        candidates.sort(Comparator.comparingLong(island -> islandService.lastActive(island.owner())));
+        int excess = islandService.getLoadedIslands().size() - maxCached;
+        int evicted = 0;
+        for (Island island : candidates) {
+            long idle = now - islandService.lastActive(island.owner());
+            if (idle < idleMillis && excess <= 0) {
+                break;
+            }
+            if (islandService.evict(island.owner())) {
+                excess--;
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            plugin.getLogger().fine("Evicted " + evicted + " idle island(s) from the cache.");
+        }
+    }
+
+    private boolean isActive(@NotNull Island island) {
+        if (islandService.hasOnlineMember(island)) {
+            return true;
+        }
+        World world = island.world();
+        return world != null && world.isChunkLoaded((int) Math.floor(island.x()) >> 4, (int) Math.floor(island.z()) >> 4);
+    }
+}
\ No newline at end of file
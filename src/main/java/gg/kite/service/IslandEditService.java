@@ -0,0 +1,339 @@
+package gg.kite.service;
+
+import com.google.inject.Inject;
+import com.sk89q.worldedit.EditSession;
+import com.sk89q.worldedit.WorldEdit;
+import com.sk89q.worldedit.WorldEditException;
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.function.mask.ExistingBlockMask;
+import com.sk89q.worldedit.function.operation.ForwardExtentCopy;
+import com.sk89q.worldedit.function.operation.Operations;
+import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.regions.CuboidRegion;
+import com.sk89q.worldedit.regions.Region;
+import com.sk89q.worldedit.util.SideEffect;
+import com.sk89q.worldedit.util.SideEffectSet;
+import com.sk89q.worldedit.world.block.BlockTypes;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs large block edits a chunk section at a time, spending at most
+ * {@code islands.edit.tick-budget-millis} per tick. Each step runs on the region
+ * owning the chunk it edits. Jobs run one after another in submission order, so a
+ * clear always finishes before a later paste over the same area starts. Futures
+ * complete on the region thread of the job's last section.
+ * <p>
+ * On disable, {@link #shutdown()} finishes the queued jobs on Paper and cancels
+ * them on Folia, so no job is silently dropped halfway.
+ */
+public class IslandEditService {
+    private static final SideEffectSet SIDE_EFFECTS = SideEffectSet.none()
+            .with(SideEffect.LIGHTING, SideEffect.State.DELAYED);
+
+    private final SchedulerService scheduler;
+    private final ArrayDeque<EditJob> jobs;
+    private final long budgetNanos;
+    private boolean running;
+    private volatile boolean shuttingDown;
+
+    @Inject
+    public IslandEditService(@NotNull JavaPlugin plugin, SchedulerService scheduler) {
+        this.scheduler = scheduler;
+        this.jobs = new ArrayDeque<>();
+        this.budgetNanos = TimeUnit.MICROSECONDS.toNanos(
+                Math.max(500L, (long) (plugin.getConfig().getDouble("islands.edit.tick-budget-millis", 8.0) * 1000)));
+    }
+
+    public EditJob paste(@NotNull Clipboard clipboard, @NotNull Location to, boolean ignoreAirBlocks) {
+        World world = Objects.requireNonNull(to.getWorld(), "world");
+        BlockVector3 target = BukkitAdapter.asBlockVector(to);
+        BlockVector3 origin = clipboard.getOrigin();
+        Region region = clipboard.getRegion();
+        BlockVector3 min = region.getMinimumPoint().subtract(origin).add(target);
+        BlockVector3 max = region.getMaximumPoint().subtract(origin).add(target);
+        return submit(new EditJob(world, min, max, (session, section) -> {
+            CuboidRegion source = new CuboidRegion(section.getMinimumPoint().subtract(target).add(origin),
+                    section.getMaximumPoint().subtract(target).add(origin));
+            ForwardExtentCopy copy = new ForwardExtentCopy(clipboard, source, origin, session, target);
+            if (ignoreAirBlocks) {
+                copy.setSourceMask(new ExistingBlockMask(clipboard));
+            }
+            Operations.complete(copy);
+            return copy.getAffected();
+        }));
+    }
+
+    public EditJob fill(@NotNull World world, @NotNull BlockVector3 min, @NotNull BlockVector3 max, @NotNull Pattern pattern) {
+        return submit(new EditJob(world, min, max, (session, section) -> session.setBlocks(section, pattern)));
+    }
+
+    /**
+     * Sets every block between {@code min} and {@code max} to air. When
+     * {@code skipEmptySections} is set, sections whose palette holds nothing but air
+     * are skipped, judged from a snapshot of the chunk taken in the same tick.
+     */
+    public EditJob clear(@NotNull World world, @NotNull BlockVector3 min, @NotNull BlockVector3 max, boolean skipEmptySections) {
+        Pattern air = BlockTypes.AIR.getDefaultState();
+        if (!skipEmptySections) {
+            return fill(world, min, max, air);
+        }
+        SectionEmptiness emptiness = new SectionEmptiness(world);
+        return submit(new EditJob(world, min, max, (session, section) ->
+                emptiness.isEmpty(session, section) ? 0 : session.setBlocks(section, air)));
+    }
+
+    /**
+     * Queues a custom edit that {@code operation} applies section by section.
+     */
+    public EditJob edit(@NotNull World world, @NotNull BlockVector3 min, @NotNull BlockVector3 max,
+                        @NotNull SectionOperation operation) {
+        return submit(new EditJob(world, min, max, operation));
+    }
+
+    public synchronized int queuedJobs() {
+        return jobs.size();
+    }
+
+    /**
+     * Settles every queued job, including those queued by completion callbacks
+     * meanwhile. On Paper this runs on the main thread, which may edit any chunk,
+     * so the jobs are finished right away and no island is left half pasted or
+     * half cleared. Folia's shutdown thread may not touch region-owned chunks, so
+     * there the jobs fail with a {@link CancellationException} and their callers
+     * roll back as for any failed edit.
+     */
+    public void shutdown() {
+        shuttingDown = true;
+        EditJob job;
+        while ((job = peekJob()) != null) {
+            if (scheduler.isFolia()) {
+                finish(job, new CancellationException("Plugin disabled"));
+            } else {
+                runToEnd(job);
+            }
+        }
+    }
+
+    private synchronized @Nullable EditJob peekJob() {
+        return jobs.peek();
+    }
+
+    private EditJob submit(@NotNull EditJob job) {
+        if (job.sections.isEmpty()) {
+            job.completion.complete(null);
+            return job;
+        }
+        boolean start;
+        synchronized (this) {
+            jobs.add(job);
+            start = !running && !shuttingDown;
+            running = true;
+        }
+        if (start) {
+            scheduleNext();
+        }
+        return job;
+    }
+
+    private void scheduleNext() {
+        EditJob job;
+        synchronized (this) {
+            job = jobs.peek();
+            if (job == null) {
+                running = false;
+                return;
+            }
+        }
+        if (shuttingDown) {
+            return; // shutdown() settles the remaining jobs.
+        }
+        BlockVector3 next = job.sections.element().getMinimumPoint();
+        scheduler.runAtDelayed(job.world, next.getBlockX() >> 4, next.getBlockZ() >> 4, () -> step(job), 1L);
+    }
+
+    private static @NotNull EditSession openSession(@NotNull World world) {
+        EditSession session = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(world));
+        session.setReorderMode(EditSession.ReorderMode.NONE);
+        session.setSideEffectApplier(SIDE_EFFECTS);
+        return session;
+    }
+
+    private void step(@NotNull EditJob job) {
+        if (shuttingDown) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + budgetNanos;
+        job.ticks++;
+        try (EditSession session = openSession(job.world)) {
+            // This step was scheduled on the region owning the first section; stop at the
+            // first section owned by another region and continue over there.
+            do {
+                job.blocksWritten += job.operation.apply(session, job.nextSection());
+            } while (!job.sections.isEmpty() && System.nanoTime() < deadline && ownsNext(job));
+        } catch (WorldEditException | RuntimeException e) {
+            job.workNanos += System.nanoTime() - started;
+            finish(job, e);
+            return;
+        }
+        job.workNanos += System.nanoTime() - started;
+        if (job.sections.isEmpty()) {
+            finish(job, null);
+        } else {
+            scheduleNext();
+        }
+    }
+
+    private void runToEnd(@NotNull EditJob job) {
+        long started = System.nanoTime();
+        job.ticks++;
+        try (EditSession session = openSession(job.world)) {
+            while (!job.sections.isEmpty()) {
+                job.blocksWritten += job.operation.apply(session, job.nextSection());
+            }
+        } catch (WorldEditException | RuntimeException e) {
+            job.workNanos += System.nanoTime() - started;
+            finish(job, e);
+            return;
+        }
+        job.workNanos += System.nanoTime() - started;
+        finish(job, null);
+    }
+
+    private boolean ownsNext(@NotNull EditJob job) {
+        BlockVector3 next = job.sections.element().getMinimumPoint();
+        return scheduler.isOwnedByCurrentRegion(job.world, next.getBlockX() >> 4, next.getBlockZ() >> 4);
+    }
+
+    private void finish(@NotNull EditJob job, @Nullable Throwable error) {
+        synchronized (this) {
+            jobs.remove(job);
+        }
+        if (error == null) {
+            job.completion.complete(null);
+        } else {
+            job.completion.completeExceptionally(error);
+        }
+        scheduleNext();
+    }
+
+    private static final class SectionEmptiness {
+        private final World world;
+        private final int minSection;
+        private @Nullable ChunkSnapshot snapshot;
+        private @Nullable EditSession snapshotSession;
+
+        private SectionEmptiness(@NotNull World world) {
+            this.world = world;
+            this.minSection = world.getMinHeight() >> 4;
+        }
+
+        // Sections of a chunk are queued together, so one snapshot serves all of them
+        // within a step. Every step opens a new session, and the chunk may have been
+        // built on since the last one, so a snapshot never outlives its session.
+        private boolean isEmpty(@NotNull EditSession session, @NotNull CuboidRegion section) {
+            BlockVector3 min = section.getMinimumPoint();
+            int chunkX = min.getBlockX() >> 4;
+            int chunkZ = min.getBlockZ() >> 4;
+            if (snapshot == null || snapshotSession != session || snapshot.getX() != chunkX || snapshot.getZ() != chunkZ) {
+                snapshot = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+                snapshotSession = session;
+            }
+            return snapshot.isSectionEmpty((min.getBlockY() >> 4) - minSection);
+        }
+    }
+
+    /**
+     * Edits one chunk section and returns the number of blocks it changed.
+     */
+    @FunctionalInterface
+    public interface SectionOperation {
+        int apply(EditSession session, CuboidRegion section) throws WorldEditException;
+    }
+
+    /**
+     * A queued edit, split into the chunk sections it touches. Sections of one chunk
+     * are queued together, bottom to top.
+     */
+    public static final class EditJob {
+        private final World world;
+        private final ArrayDeque<CuboidRegion> sections;
+        private final SectionOperation operation;
+        private final CompletableFuture<Void> completion;
+        private final int totalSections;
+        // Published for progress(), which may be called from any thread; sections is
+        // only touched by the thread running the job.
+        private volatile int remaining;
+        private long blocksWritten;
+        private long workNanos;
+        private int ticks;
+
+        private EditJob(@NotNull World world, @NotNull BlockVector3 min, @NotNull BlockVector3 max,
+                        @NotNull SectionOperation operation) {
+            this.world = world;
+            this.operation = operation;
+            this.completion = new CompletableFuture<>();
+            this.sections = new ArrayDeque<>();
+            int minY = Math.max(min.getBlockY(), world.getMinHeight());
+            int maxY = Math.min(max.getBlockY(), world.getMaxHeight() - 1);
+            for (int cx = min.getBlockX() >> 4; cx <= max.getBlockX() >> 4; cx++) {
+                for (int cz = min.getBlockZ() >> 4; cz <= max.getBlockZ() >> 4; cz++) {
+                    for (int cy = minY >> 4; cy <= maxY >> 4; cy++) {
+                        sections.add(new CuboidRegion(
+                                BlockVector3.at(Math.max(cx << 4, min.getBlockX()), Math.max(cy << 4, minY),
+                                        Math.max(cz << 4, min.getBlockZ())),
+                                BlockVector3.at(Math.min((cx << 4) + 15, max.getBlockX()), Math.min((cy << 4) + 15, maxY),
+                                        Math.min((cz << 4) + 15, max.getBlockZ()))));
+                    }
+                }
+            }
+            this.totalSections = sections.size();
+            this.remaining = totalSections;
+        }
+
+        private CuboidRegion nextSection() {
+            CuboidRegion section = sections.poll();
+            remaining = sections.size();
+            return section;
+        }
+
+        public CompletableFuture<Void> completion() {
+            return completion;
+        }
+
+        public long blocksWritten() {
+            return blocksWritten;
+        }
+
+        /**
+         * Main thread time spent on this job, excluding the ticks it waited.
+         */
+        public long workNanos() {
+            return workNanos;
+        }
+
+        public int ticks() {
+            return ticks;
+        }
+
+        /**
+         * Fraction of sections written so far, from 0 to 1.
+         */
+        public double progress() {
+            return totalSections == 0 ? 1.0 : 1.0 - (double) remaining / totalSections;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package gg.kite.service;
+
+import gg.kite.model.Island;
+import gg.kite.model.IslandBounds;
+import gg.kite.util.LongObjectHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Chunk-keyed spatial index of island borders, one cell map per world.
+ * Each chunk cell holds the bounds of every island overlapping it, so a lookup
+ * is one hash probe plus a bounds check against (almost always) a single entry.
+ * <p>
+ * Lookups come from every region thread, so access goes through a read-write
+ * lock; cells are replaced rather than modified, so they can be iterated after
+ * the lock is released.
+ */
+public class IslandGrid {
+    private final Map<UUID, LongObjectHashMap<IslandBounds[]>> cellsByWorld = new HashMap<>();
+    private final Map<UUID, IslandBounds> boundsByOwner = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void index(@NotNull Island island) {
+        index(IslandBounds.of(island));
+    }
+
+    public void index(@NotNull IslandBounds bounds) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(bounds.owner());
+            insertLocked(bounds);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void insertLocked(@NotNull IslandBounds bounds) {
+        LongObjectHashMap<IslandBounds[]> cells = cellsByWorld.computeIfAbsent(bounds.worldId(), id -> new LongObjectHashMap<>());
+        for (int chunkX = bounds.minX() >> 4; chunkX <= bounds.maxX() >> 4; chunkX++) {
+            for (int chunkZ = bounds.minZ() >> 4; chunkZ <= bounds.maxZ() >> 4; chunkZ++) {
+                long key = chunkKey(chunkX, chunkZ);
+                IslandBounds[] cell = cells.get(key);
+                if (cell == null) {
+                    cells.put(key, new IslandBounds[]{bounds});
+                } else {
+                    IslandBounds[] grown = Arrays.copyOf(cell, cell.length + 1);
+                    grown[cell.length] = bounds;
+                    cells.put(key, grown);
+                }
+            }
+        }
+        boundsByOwner.put(bounds.owner(), bounds);
+    }
+
+    public void forEachBounds(@NotNull Consumer<IslandBounds> action) {
+        List<IslandBounds> snapshot;
+        lock.readLock().lock();
+        try {
+            snapshot = List.copyOf(boundsByOwner.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+        snapshot.forEach(action);
+    }
+
+    public void remove(UUID owner) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(owner);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(UUID owner) {
+        IslandBounds bounds = boundsByOwner.remove(owner);
+        if (bounds == null) {
+            return;
+        }
+        LongObjectHashMap<IslandBounds[]> cells = cellsByWorld.get(bounds.worldId());
+        if (cells == null) {
+            return;
+        }
+        for (int chunkX = bounds.minX() >> 4; chunkX <= bounds.maxX() >> 4; chunkX++) {
+            for (int chunkZ = bounds.minZ() >> 4; chunkZ <= bounds.maxZ() >> 4; chunkZ++) {
+                long key = chunkKey(chunkX, chunkZ);
+                IslandBounds[] cell = cells.get(key);
+                if (cell == null) {
+                    continue;
+                }
+                IslandBounds[] remaining = Arrays.stream(cell)
+                        .filter(entry -> entry != bounds)
+                        .toArray(IslandBounds[]::new);
+                if (remaining.length == 0) {
+                    cells.remove(key);
+                } else {
+                    cells.put(key, remaining);
+                }
+            }
+        }
+        if (cells.isEmpty()) {
+            cellsByWorld.remove(bounds.worldId());
+        }
+    }
+
+    public @Nullable UUID findOwner(UUID worldId, int x, int z) {
+        IslandBounds[] cell = cell(worldId, x >> 4, z >> 4);
+        if (cell == null) {
+            return null;
+        }
+        for (IslandBounds bounds : cell) {
+            if (bounds.contains(x, z)) {
+                return bounds.owner();
+            }
+        }
+        return null;
+    }
+
+    public void forEachOwnerInChunk(UUID worldId, int chunkX, int chunkZ, @NotNull Consumer<UUID> action) {
+        IslandBounds[] cell = cell(worldId, chunkX, chunkZ);
+        if (cell != null) {
+            for (IslandBounds bounds : cell) {
+                action.accept(bounds.owner());
+            }
+        }
+    }
+
+    private IslandBounds @Nullable [] cell(UUID worldId, int chunkX, int chunkZ) {
+        lock.readLock().lock();
+        try {
+            LongObjectHashMap<IslandBounds[]> cells = cellsByWorld.get(worldId);
+            return cells == null ? null : cells.get(chunkKey(chunkX, chunkZ));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public @Nullable IslandBounds boundsOf(UUID owner) {
+        lock.readLock().lock();
+        try {
+            return boundsByOwner.get(owner);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean contains(UUID owner) {
+        lock.readLock().lock();
+        try {
+            return boundsByOwner.containsKey(owner);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return boundsByOwner.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,233 @@
+package gg.kite.service;
+
+import com.google.inject.Inject;
+import gg.kite.model.IslandBounds;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Puts islands to sleep while none of their members is online. A hibernating
+ * island holds no chunk tickets, neither this plugin's nor those of the plugins
+ * in {@code islands.hibernation.release-tickets-of}, so its chunks unload once no
+ * player is near them and minions, hoppers and random ticks stop with them.
+ * <p>
+ * Islands start out asleep. A periodic sweep releases the foreign tickets other
+ * plugins hold on sleeping islands, such as those re-added for offline islands
+ * after a restart.
+ * <p>
+ * An island wakes when a member joins, which pre-loads its spawn, or when someone
+ * teleports onto it. Waking restores the foreign tickets released from it, so its
+ * minions resume right away. Islands woken by a visit go back to sleep after
+ * {@code islands.hibernation.grace-seconds} unless a member has come online.
+ */
+public class IslandLifecycleService implements Listener {
+    private final JavaPlugin plugin;
+    private final IslandService islandService;
+    private final TeleportService teleportService;
+    private final SchedulerService scheduler;
+    private final Map<UUID, Awake> awake;
+    private final Map<UUID, Set<ReleasedTicket>> released;
+    private final boolean enabled;
+    private final long graceMillis;
+    private final Set<String> foreignTicketHolders;
+    private final int margin;
+
+    @Inject
+    public IslandLifecycleService(@NotNull JavaPlugin plugin, IslandService islandService,
+                                  TeleportService teleportService, SchedulerService scheduler) {
+        this.plugin = plugin;
+        this.islandService = islandService;
+        this.teleportService = teleportService;
+        this.scheduler = scheduler;
+        this.awake = new ConcurrentHashMap<>();
+        this.released = new ConcurrentHashMap<>();
+        this.enabled = plugin.getConfig().getBoolean("islands.hibernation.enabled", true);
+        this.graceMillis = plugin.getConfig().getLong("islands.hibernation.grace-seconds", 60L) * 1000L;
+        this.foreignTicketHolders = Set.copyOf(plugin.getConfig().getStringList("islands.hibernation.release-tickets-of"));
+        this.margin = plugin.getConfig().getInt("world.border-width", 10);
+    }
+
+    public void start() {
+        if (enabled) {
+            scheduler.runGlobalTimer(() -> {
+                hibernateIdleIslands();
+                releaseSleepingTickets();
+            }, 20L * 30, 20L * 30);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(@NotNull PlayerJoinEvent event) {
+        if (!enabled) {
+            return;
+        }
+        UUID owner = islandService.ownerOf(event.getPlayer().getUniqueId());
+        if (owner == null) {
+            return;
+        }
+        islandService.loadIslandAsync(owner).thenAccept(loaded -> loaded.ifPresent(island -> {
+            if (wake(IslandBounds.of(island)) && island.world() != null) {
+                teleportService.prewarm(island.center());
+            }
+        }));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(@NotNull PlayerTeleportEvent event) {
+        if (enabled) {
+            UUID owner = islandService.ownerAt(event.getTo().getWorld(), event.getTo().getBlockX(), event.getTo().getBlockZ());
+            IslandBounds bounds = owner == null ? null : islandService.boundsOf(owner);
+            if (bounds != null) {
+                wake(bounds);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        if (!enabled) {
+            return;
+        }
+        // The player still counts as online until the event has finished.
+        UUID owner = islandService.ownerOf(event.getPlayer().getUniqueId());
+        if (owner != null) {
+            scheduler.runGlobal(() -> {
+                if (!islandService.getLoadedIsland(owner).map(islandService::hasOnlineMember).orElse(false)) {
+                    hibernate(owner);
+                }
+            });
+        }
+    }
+
+    private boolean wake(@NotNull IslandBounds bounds) {
+        if (awake.put(bounds.owner(), new Awake(bounds, System.currentTimeMillis())) != null) {
+            return false;
+        }
+        restoreForeignTickets(bounds.owner());
+        return true;
+    }
+
+    private boolean isAwake(UUID owner) {
+        return awake.containsKey(owner) || islandService.getLoadedIsland(owner).map(islandService::hasOnlineMember).orElse(false);
+    }
+
+    private void hibernateIdleIslands() {
+        long now = System.currentTimeMillis();
+        awake.forEach((owner, state) -> {
+            if (now - state.since() < graceMillis) {
+                return;
+            }
+            // Islands with an online member are never evicted, so an unloaded island has none.
+            boolean active = islandService.getLoadedIsland(owner).map(islandService::hasOnlineMember).orElse(false);
+            if (!active) {
+                hibernate(owner);
+            }
+        });
+    }
+
+    private void hibernate(UUID owner) {
+        Awake state = awake.remove(owner);
+        if (state == null) {
+            return;
+        }
+        IslandBounds bounds = state.bounds();
+        World world = plugin.getServer().getWorld(bounds.worldId());
+        if (world == null) {
+            return;
+        }
+        int minChunkX = (bounds.minX() - margin) >> 4;
+        int minChunkZ = (bounds.minZ() - margin) >> 4;
+        int maxChunkX = (bounds.maxX() + margin) >> 4;
+        int maxChunkZ = (bounds.maxZ() + margin) >> 4;
+        teleportService.release(world, minChunkX, minChunkZ, maxChunkX, maxChunkZ);
+        if (foreignTicketHolders.isEmpty()) {
+            return;
+        }
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                int x = chunkX;
+                int z = chunkZ;
+                scheduler.runAt(world, x, z, () -> releaseForeignTickets(List.of(owner), world, x, z));
+            }
+        }
+    }
+
+    /**
+     * Finds the foreign tickets held on chunks of sleeping islands and releases
+     * them. Chunks shared with an awake island keep theirs.
+     */
+    private void releaseSleepingTickets() {
+        if (foreignTicketHolders.isEmpty()) {
+            return;
+        }
+        for (World world : plugin.getServer().getWorlds()) {
+            if (!islandService.isOceanWorld(world)) {
+                continue;
+            }
+            world.getPluginChunkTickets().forEach((holder, chunks) -> {
+                if (!foreignTicketHolders.contains(holder.getName())) {
+                    return;
+                }
+                for (Chunk chunk : chunks) {
+                    int x = chunk.getX();
+                    int z = chunk.getZ();
+                    List<UUID> owners = new ArrayList<>(1);
+                    islandService.forEachIslandInChunk(world, x, z, owners::add);
+                    if (!owners.isEmpty() && owners.stream().noneMatch(this::isAwake)) {
+                        scheduler.runAt(world, x, z, () -> releaseForeignTickets(owners, world, x, z));
+                    }
+                }
+            });
+        }
+    }
+
+    private void releaseForeignTickets(@NotNull List<UUID> owners, @NotNull World world, int chunkX, int chunkZ) {
+        if (owners.stream().anyMatch(awake::containsKey)) {
+            return; // Woken while this was queued.
+        }
+        List<Plugin> holders = List.copyOf(world.getPluginChunkTickets(chunkX, chunkZ));
+        for (Plugin holder : holders) {
+            if (foreignTicketHolders.contains(holder.getName()) && world.removePluginChunkTicket(chunkX, chunkZ, holder)) {
+                ReleasedTicket ticket = new ReleasedTicket(world.getUID(), chunkX, chunkZ, holder.getName());
+                owners.forEach(owner -> released.computeIfAbsent(owner, id -> ConcurrentHashMap.newKeySet()).add(ticket));
+            }
+        }
+    }
+
+    private void restoreForeignTickets(UUID owner) {
+        Set<ReleasedTicket> tickets = released.remove(owner);
+        if (tickets == null) {
+            return;
+        }
+        for (ReleasedTicket ticket : tickets) {
+            World world = plugin.getServer().getWorld(ticket.worldId());
+            Plugin holder = plugin.getServer().getPluginManager().getPlugin(ticket.holder());
+            if (world != null && holder != null && holder.isEnabled()) {
+                scheduler.runAt(world, ticket.chunkX(), ticket.chunkZ(),
+                        () -> world.addPluginChunkTicket(ticket.chunkX(), ticket.chunkZ(), holder));
+            }
+        }
+    }
+
+    private record Awake(IslandBounds bounds, long since) {
+    }
+
+    private record ReleasedTicket(UUID worldId, int chunkX, int chunkZ, String holder) {
+    }
+}
\ No newline at end of file
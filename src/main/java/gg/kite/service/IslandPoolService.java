@@ -0,0 +1,196 @@
+package gg.kite.service;
+
+import com.destroystokyo.paper.event.server.ServerTickEndEvent;
+import com.google.inject.Inject;
+import gg.kite.model.Island;
+import gg.kite.model.IslandType;
+import gg.kite.model.PooledIsland;
+import gg.kite.storage.DatabaseService;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Keeps a few ready islands of every type pasted and bordered so creating an
+ * island only has to assign an owner. The pool is refilled one island at a time,
+ * started only at the end of ticks that finished well within their budget.
+ * Reloading a schematic discards the islands pasted from the old one.
+ */
+public class IslandPoolService implements Listener {
+    private static final long FAILURE_BACKOFF_MILLIS = 60_000L;
+
+    private final JavaPlugin plugin;
+    private final DatabaseService databaseService;
+    private final SchematicService schematicService;
+    private final SchedulerService scheduler;
+    private final IslandSlotAllocator slotAllocator;
+    private final Map<IslandType, ArrayDeque<PooledIsland>> ready;
+    private final Map<IslandType, Integer> generations;
+    private final boolean enabled;
+    private final int sizePerType;
+    private final int refillIntervalTicks;
+    private final long minIdleNanos;
+    private @Nullable Supplier<Location> locationSource;
+    private int generating;
+    private int ticksUntilRefill;
+    private long retryAt;
+
+    @Inject
+    public IslandPoolService(@NotNull JavaPlugin plugin, DatabaseService databaseService,
+                             SchematicService schematicService, SchedulerService scheduler,
+                             IslandSlotAllocator slotAllocator) {
+        this.plugin = plugin;
+        this.databaseService = databaseService;
+        this.schematicService = schematicService;
+        this.scheduler = scheduler;
+        this.slotAllocator = slotAllocator;
+        this.ready = new EnumMap<>(IslandType.class);
+        this.generations = new EnumMap<>(IslandType.class);
+        for (IslandType type : IslandType.values()) {
+            ready.put(type, new ArrayDeque<>());
+            generations.put(type, 0);
+        }
+        this.enabled = plugin.getConfig().getBoolean("islands.pool.enabled", true);
+        this.sizePerType = Math.max(0, plugin.getConfig().getInt("islands.pool.size-per-type", 2));
+        this.refillIntervalTicks = Math.max(1, plugin.getConfig().getInt("islands.pool.refill-interval-ticks", 40));
+        this.minIdleNanos = TimeUnit.MILLISECONDS.toNanos(plugin.getConfig().getLong("islands.pool.min-idle-millis", 20L));
+    }
+
+    /**
+     * Loads the persisted pool. Entries for which {@code occupied} holds, such as an
+     * island claimed just before a crash, are dropped.
+     */
+    public synchronized void initialize(@NotNull Supplier<Location> locationSource, @NotNull Predicate<PooledIsland> occupied) {
+        this.locationSource = locationSource;
+        int loaded = 0;
+        for (PooledIsland pooled : databaseService.getPooledIslands()) {
+            if (occupied.test(pooled)) {
+                databaseService.deletePooledIsland(pooled.id());
+                continue;
+            }
+            ready.get(pooled.type()).add(pooled);
+            loaded++;
+        }
+        if (loaded > 0) {
+            plugin.getLogger().info("Loaded " + loaded + " pre-generated island(s).");
+        }
+    }
+
+    public synchronized void forEachPooled(@NotNull Consumer<PooledIsland> action) {
+        ready.values().forEach(islands -> islands.forEach(action));
+    }
+
+    public void start() {
+        if (enabled && scheduler.isFolia()) {
+            // Folia has no server-wide tick to measure idle time against, so refill on a timer.
+            scheduler.runGlobalTimer(this::refill, refillIntervalTicks, refillIntervalTicks);
+        }
+    }
+
+    public synchronized Optional<PooledIsland> claim(IslandType type) {
+        PooledIsland pooled = ready.get(type).poll();
+        if (pooled == null) {
+            return Optional.empty();
+        }
+        databaseService.deletePooledIsland(pooled.id());
+        return Optional.of(pooled);
+    }
+
+    /**
+     * Discards the ready islands of {@code types} after their schematics were
+     * reloaded; islands still being pasted are discarded once done.
+     */
+    public synchronized void flush(@NotNull Collection<IslandType> types) {
+        int flushed = 0;
+        for (IslandType type : types) {
+            generations.merge(type, 1, Integer::sum);
+            PooledIsland pooled;
+            while ((pooled = ready.get(type).poll()) != null) {
+                discard(pooled);
+                flushed++;
+            }
+        }
+        if (flushed > 0) {
+            plugin.getLogger().info("Discarded " + flushed + " pre-generated island(s) pasted from reloaded schematics.");
+        }
+    }
+
+    /**
+     * Deletes a pooled island and frees its slot once its area is cleared.
+     */
+    private void discard(@NotNull PooledIsland pooled) {
+        databaseService.deletePooledIsland(pooled.id());
+        schematicService.clearArea(pooled.center(), Island.BASE_BORDER_SIZE, "pooled " + pooled.type().getDisplayName() + " island")
+                .whenComplete((ignored, error) -> slotAllocator.release(pooled.worldId(), pooled.x(), pooled.z()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onTickEnd(@NotNull ServerTickEndEvent event) {
+        if (!enabled || --ticksUntilRefill > 0 || event.getTimeRemaining() < minIdleNanos) {
+            return;
+        }
+        ticksUntilRefill = refillIntervalTicks;
+        refill();
+    }
+
+    private synchronized void refill() {
+        if (locationSource == null || generating > 0 || System.currentTimeMillis() < retryAt) {
+            return;
+        }
+        IslandType type = mostNeededType();
+        if (type != null) {
+            generate(type);
+        }
+    }
+
+    private @Nullable IslandType mostNeededType() {
+        IslandType neediest = null;
+        int lowest = sizePerType;
+        for (Map.Entry<IslandType, ArrayDeque<PooledIsland>> entry : ready.entrySet()) {
+            if (entry.getValue().size() < lowest) {
+                lowest = entry.getValue().size();
+                neediest = entry.getKey();
+            }
+        }
+        return neediest;
+    }
+
+    private void generate(IslandType type) {
+        Location center = locationSource.get();
+        int generation = generations.get(type);
+        generating++;
+        schematicService.loadSchematic(type, center)
+                .thenCompose(ignored -> schematicService.generateOceanBorder(center, Island.BASE_BORDER_SIZE))
+                .thenCompose(ignored -> databaseService.savePooledIsland(type, center))
+                .whenComplete((pooled, error) -> {
+                    synchronized (this) {
+                        generating--;
+                        if (error == null) {
+                            if (generations.get(type) == generation) {
+                                ready.get(type).add(pooled);
+                            } else {
+                                discard(pooled); // Pasted from a schematic reloaded since.
+                            }
+                            return;
+                        }
+                        retryAt = System.currentTimeMillis() + FAILURE_BACKOFF_MILLIS;
+                        slotAllocator.release(center.getWorld().getUID(), center.getX(), center.getZ());
+                    }
+                    plugin.getLogger().warning("Failed to pre-generate a " + type.getDisplayName() + " island; retrying later.");
+                });
+    }
+}
\ No newline at end of file
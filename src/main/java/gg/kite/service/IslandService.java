@@ -2,105 +2,452 @@ package gg.kite.service;
 
 import com.google.inject.Inject;
 import gg.kite.model.Island;
+import gg.kite.model.IslandBounds;
+import gg.kite.model.IslandRole;
 import gg.kite.model.IslandType;
+import gg.kite.model.PooledIsland;
+import gg.kite.model.UpgradeRegistry;
 import gg.kite.model.UpgradeType;
 import gg.kite.storage.DatabaseService;
+import gg.kite.storage.IslandWriteQueue;
 import gg.kite.util.MessageUtil;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.WorldCreator;
-import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 
 public class IslandService {
     private final JavaPlugin plugin;
     private final DatabaseService databaseService;
+    private final IslandWriteQueue writeQueue;
     private final SchematicService schematicService;
+    private final IslandPoolService islandPool;
+    private final IslandSlotAllocator slotAllocator;
     private final EconomyService economyService;
+    private final UpgradeRegistryService upgradeRegistry;
+    private final SchedulerService scheduler;
+    private final TeleportService teleportService;
+    private final SafeSpawnService safeSpawnService;
     private final MessageUtil messageUtil;
     private final Map<UUID, Island> islandsByOwner;
-    private final World oceanWorld;
+    private final Map<UUID, UUID> ownerByMember;
+    private final Map<UUID, Long> lastActive;
+    private final Map<UUID, CompletableFuture<Optional<Island>>> loading;
+    private final IslandGrid islandGrid;
+    private final List<World> oceanWorlds;
+    private final boolean lazyLoading;
 
     @Inject
     public IslandService(@NotNull JavaPlugin plugin, DatabaseService databaseService,
-                         SchematicService schematicService, EconomyService economyService,
+                         IslandWriteQueue writeQueue, SchematicService schematicService,
+                         IslandPoolService islandPool, IslandSlotAllocator slotAllocator,
+                         EconomyService economyService, UpgradeRegistryService upgradeRegistry,
+                         SchedulerService scheduler,
+                         TeleportService teleportService, SafeSpawnService safeSpawnService,
                          MessageUtil messageUtil) {
         this.plugin = plugin;
         this.databaseService = databaseService;
+        this.writeQueue = writeQueue;
         this.schematicService = schematicService;
+        this.islandPool = islandPool;
+        this.slotAllocator = slotAllocator;
         this.economyService = economyService;
+        this.upgradeRegistry = upgradeRegistry;
+        this.scheduler = scheduler;
+        this.teleportService = teleportService;
+        this.safeSpawnService = safeSpawnService;
         this.messageUtil = messageUtil;
         this.islandsByOwner = new ConcurrentHashMap<>();
-        World world = plugin.getServer().getWorld(plugin.getConfig().getString("world.ocean-world-name", "ocean"));
-        if (world == null) {
-            world = plugin.getServer().createWorld(new WorldCreator(plugin.getConfig().getString("world.ocean-world-name", "ocean")));
+        this.ownerByMember = new ConcurrentHashMap<>();
+        this.lastActive = new ConcurrentHashMap<>();
+        this.loading = new ConcurrentHashMap<>();
+        this.islandGrid = new IslandGrid();
+        this.lazyLoading = plugin.getConfig().getBoolean("islands.lazy-loading.enabled", true);
+        this.oceanWorlds = loadOceanWorlds();
+    }
+
+    /**
+     * Loads the worlds new islands are spread across. Configs from before
+     * {@code world.ocean-worlds} existed keep using {@code world.ocean-world-name}.
+     */
+    private @NotNull List<World> loadOceanWorlds() {
+        List<String> names = plugin.getConfig().isSet("world.ocean-worlds")
+                ? plugin.getConfig().getStringList("world.ocean-worlds")
+                : List.of(plugin.getConfig().getString("world.ocean-world-name", "ocean"));
+        List<World> worlds = new ArrayList<>();
+        for (String name : new LinkedHashSet<>(names)) {
+            World world = plugin.getServer().getWorld(name);
+            if (world == null) {
+                world = plugin.getServer().createWorld(new WorldCreator(name));
+            }
+            if (world == null) {
+                plugin.getLogger().severe("Failed to load or create ocean world " + name + "!");
+            } else {
+                worlds.add(world);
+            }
+        }
+        if (worlds.isEmpty()) {
+            plugin.getLogger().severe("No ocean world is available; islands cannot be created.");
+        }
+        return List.copyOf(worlds);
+    }
+
+    public void initialize() {
+        if (lazyLoading) {
+            databaseService.getAllIslandBounds().forEach(islandGrid::index);
+            // Membership is indexed for every island, loaded or not, so roles resolve without a load.
+            databaseService.getAllMemberships().forEach((member, owner) -> {
+                if (islandGrid.contains(owner)) {
+                    ownerByMember.put(member, owner);
+                }
+            });
+            plugin.getLogger().info("Indexed " + islandGrid.size() + " island(s); islands load on demand.");
+        } else {
+            databaseService.getAllIslands().forEach(island -> {
+                islandGrid.index(island);
+                cache(island);
+            });
+        }
+        int[] unloaded = new int[1];
+        islandGrid.forEachBounds(bounds -> {
+            if (plugin.getServer().getWorld(bounds.worldId()) == null) {
+                unloaded[0]++;
+            }
+        });
+        if (unloaded[0] > 0) {
+            plugin.getLogger().warning(unloaded[0] + " island(s) are in worlds that are not loaded; "
+                    + "keep their worlds in world.ocean-worlds so their owners can reach them.");
+        }
+        if (!oceanWorlds.isEmpty()) {
+            oceanWorlds.forEach(slotAllocator::load);
+            islandGrid.forEachBounds(slotAllocator::reserve);
+            islandPool.initialize(this::findNextIslandLocation, pooled -> islandGrid.findOwner(pooled.worldId(),
+                    (int) Math.floor(pooled.x()), (int) Math.floor(pooled.z())) != null);
+            islandPool.forEachPooled(pooled -> slotAllocator.reserve(IslandBounds.of(null, pooled.worldId(),
+                    pooled.x(), pooled.z(), Island.BASE_BORDER_SIZE)));
+            slotAllocator.commit();
         }
-        this.oceanWorld = world;
-        if (oceanWorld == null) {
-            plugin.getLogger().severe("Failed to load or create ocean world!");
+    }
+
+    public boolean isLazyLoading() {
+        return lazyLoading;
+    }
+
+    /**
+     * Caches a freshly loaded island unless another thread got there first, and
+     * returns whichever snapshot is cached.
+     */
+    private Island cache(@NotNull Island island) {
+        touch(island.owner());
+        Island existing = islandsByOwner.putIfAbsent(island.owner(), island);
+        if (existing != null) {
+            return existing;
         }
-        loadIslands();
+        island.members().forEach(member -> {
+            UUID previous = ownerByMember.put(member, island.owner());
+            if (previous != null && !previous.equals(island.owner())) {
+                plugin.getLogger().warning("Player " + member + " is a member of multiple islands, keeping " + island.owner());
+            }
+        });
+        return island;
     }
 
-    private void loadIslands() {
-        databaseService.getAllIslands().forEach(island -> islandsByOwner.put(island.owner(), island));
+    /**
+     * Caches islands read off the main thread. Islands deleted or already cached
+     * in the meantime are skipped, so a stale database read never wins.
+     */
+    public void cacheLoaded(@NotNull Collection<Island> islands) {
+        for (Island island : islands) {
+            if (islandGrid.contains(island.owner())) {
+                cache(island);
+            }
+        }
     }
 
-    public Optional<Island> getIsland(@NotNull Player player) {
-        return Optional.ofNullable(islandsByOwner.get(player.getUniqueId()));
+    /**
+     * Returns the cached island of {@code owner}, reading the database off the main
+     * thread and caching the result on the global thread on a miss. Nothing on a
+     * tick thread may block on the returned future.
+     */
+    public CompletableFuture<Optional<Island>> loadIslandAsync(UUID owner) {
+        Island island = islandsByOwner.get(owner);
+        if (island != null || !islandGrid.contains(owner)) {
+            return CompletableFuture.completedFuture(Optional.ofNullable(island));
+        }
+        CompletableFuture<Optional<Island>> started = new CompletableFuture<>();
+        CompletableFuture<Optional<Island>> pending = loading.putIfAbsent(owner, started);
+        if (pending != null) {
+            return pending;
+        }
+        scheduler.runAsync(() -> {
+            Optional<Island> loaded = databaseService.getIsland(owner);
+            scheduler.runGlobal(() -> {
+                loading.remove(owner);
+                // The island may have been deleted while it was read.
+                started.complete(loaded.filter(read -> islandGrid.contains(read.owner())).map(this::cache));
+            });
+        });
+        return started;
     }
 
-    public Optional<Island> getIslandAt(Location location) {
-        return islandsByOwner.values().stream()
-                .filter(island -> island.isWithinBorder(location))
-                .findFirst();
+    /**
+     * Loads the island of {@code owner} and hands it to {@code action} on
+     * {@code player}'s thread; straight away if it is cached, or once it has been
+     * read otherwise. Commands use this so a cache miss never blocks a tick. The
+     * action is dropped if the player leaves before the island is read.
+     */
+    public void withIsland(@NotNull Player player, @Nullable UUID owner, @NotNull Consumer<Optional<Island>> action) {
+        if (owner == null) {
+            action.accept(Optional.empty());
+            return;
+        }
+        CompletableFuture<Optional<Island>> future = loadIslandAsync(owner);
+        if (future.isDone()) {
+            action.accept(future.join());
+            return;
+        }
+        future.thenAccept(island -> scheduler.runFor(player, () -> action.accept(island)));
     }
 
-    public Optional<Island> getIslandByOwner(UUID owner) {
+    public Optional<Island> getLoadedIsland(UUID owner) {
         return Optional.ofNullable(islandsByOwner.get(owner));
     }
 
+    public void touch(UUID owner) {
+        lastActive.put(owner, System.currentTimeMillis());
+    }
+
+    public long lastActive(UUID owner) {
+        return lastActive.getOrDefault(owner, 0L);
+    }
+
+    public boolean evict(UUID owner) {
+        if (writeQueue.hasPending(owner)) {
+            return false;
+        }
+        Island island = islandsByOwner.remove(owner);
+        if (island == null) {
+            return false;
+        }
+        lastActive.remove(owner);
+        return true;
+    }
+
+    /**
+     * Publishes {@code updated} only if {@code expected} is still the current snapshot.
+     */
+    public boolean compareAndSet(@NotNull Island expected, @NotNull Island updated) {
+        return islandsByOwner.replace(expected.owner(), expected, updated);
+    }
+
+    /**
+     * Applies {@code mutation} to the current snapshot and publishes the result,
+     * retrying against the newer snapshot if another writer got there first.
+     * Returns the published snapshot, or null if the island is not loaded.
+     */
+    private @Nullable Island update(UUID owner, @NotNull UnaryOperator<Island> mutation) {
+        while (true) {
+            Island current = islandsByOwner.get(owner);
+            if (current == null) {
+                return null;
+            }
+            Island updated = mutation.apply(current);
+            if (updated == current || islandsByOwner.replace(owner, current, updated)) {
+                return updated;
+            }
+        }
+    }
+
+    public boolean isLoaded(UUID owner) {
+        return islandsByOwner.containsKey(owner);
+    }
+
+    public Collection<Island> getLoadedIslands() {
+        return Collections.unmodifiableCollection(islandsByOwner.values());
+    }
+
+    public void forEachIslandInChunk(@NotNull World world, int chunkX, int chunkZ, @NotNull Consumer<UUID> action) {
+        islandGrid.forEachOwnerInChunk(world.getUID(), chunkX, chunkZ, action);
+    }
+
+    /**
+     * Returns the owner of the island {@code player} owns or belongs to, without
+     * loading it.
+     */
+    public @Nullable UUID ownerOf(UUID player) {
+        return islandGrid.contains(player) ? player : ownerByMember.get(player);
+    }
+
+    public @Nullable IslandBounds boundsOf(UUID owner) {
+        return islandGrid.boundsOf(owner);
+    }
+
+    /**
+     * Whether the owner or any member of the island is online.
+     */
+    public boolean hasOnlineMember(@NotNull Island island) {
+        if (plugin.getServer().getPlayer(island.owner()) != null) {
+            return true;
+        }
+        for (UUID member : island.members()) {
+            if (plugin.getServer().getPlayer(member) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean hasAccess(@NotNull Island island, UUID player) {
+        return island.owner().equals(player) || island.owner().equals(ownerByMember.get(player));
+    }
+
+    /**
+     * Resolves {@code player}'s role on the island of {@code owner} without loading
+     * it.
+     */
+    public @NotNull IslandRole roleOn(@NotNull UUID owner, UUID player) {
+        if (owner.equals(player)) {
+            return IslandRole.OWNER;
+        }
+        return owner.equals(ownerByMember.get(player)) ? IslandRole.MEMBER : IslandRole.VISITOR;
+    }
+
+    /**
+     * Returns the owner of the island whose border contains the block column,
+     * consulting only the index cell of its chunk.
+     */
+    public @Nullable UUID ownerAt(@NotNull World world, int x, int z) {
+        return islandGrid.findOwner(world.getUID(), x, z);
+    }
+
+    public boolean isOceanWorld(@NotNull World world) {
+        return oceanWorlds.contains(world);
+    }
+
+    public boolean addMember(@NotNull Island island, UUID member) {
+        if (islandGrid.contains(member) || ownerByMember.putIfAbsent(member, island.owner()) != null) {
+            return false;
+        }
+        Island updated = update(island.owner(), current -> current.withMember(member));
+        if (updated == null) {
+            ownerByMember.remove(member, island.owner());
+            return false;
+        }
+        writeQueue.markMemberAdded(updated, member);
+        return true;
+    }
+
+    public boolean removeMember(@NotNull Island island, UUID member) {
+        if (!ownerByMember.remove(member, island.owner())) {
+            return false;
+        }
+        Island updated = update(island.owner(), current -> current.withoutMember(member));
+        if (updated != null) {
+            writeQueue.markMemberRemoved(updated, member);
+        }
+        return true;
+    }
+
+    public Optional<Island> getIslandAt(@NotNull Location location) {
+        return Optional.ofNullable(lookupIslandAt(location.getWorld(), location.getBlockX(), location.getBlockZ()));
+    }
+
+    /**
+     * Returns the cached island at the block column. On a miss the island starts
+     * loading in the background and this returns {@code null}, so event handlers
+     * never wait on the database.
+     */
+    public @Nullable Island lookupIslandAt(@NotNull World world, int x, int z) {
+        UUID owner = ownerAt(world, x, z);
+        if (owner == null) {
+            return null;
+        }
+        Island island = islandsByOwner.get(owner);
+        if (island == null) {
+            loadIslandAsync(owner);
+        }
+        return island;
+    }
+
     public boolean createIsland(Player player, IslandType type) {
-        if (oceanWorld == null) {
+        if (oceanWorlds.isEmpty()) {
             player.sendMessage(messageUtil.getMessage("error-world"));
             return false;
         }
-        Location center = findNextIslandLocation();
+        Optional<PooledIsland> pooled = islandPool.claim(type);
+        Location center = pooled.map(PooledIsland::center).orElseGet(this::findNextIslandLocation);
         Island island = Island.createNew(player, type, center);
-        islandsByOwner.put(player.getUniqueId(), island);
-        if (schematicService.loadSchematic(type, center)) {
-            generateOceanBorder(center);
-            player.teleport(center);
-            databaseService.saveIsland(island);
-            player.sendMessage(messageUtil.getMessage("island-created"));
+        UUID owner = island.owner();
+        islandsByOwner.put(owner, island);
+        islandGrid.index(island);
+        if (pooled.isPresent()) {
+            finishCreate(player, owner);
             return true;
-        } else {
-            islandsByOwner.remove(player.getUniqueId());
-            player.sendMessage(messageUtil.getMessage("error-schematic", Map.of("file", type.getSchematicFile())));
-            return false;
         }
+        schematicService.loadSchematic(type, center).whenComplete((ignored, error) -> {
+            if (error != null) {
+                Island pending = islandsByOwner.remove(owner);
+                if (pending != null) {
+                    islandGrid.remove(owner);
+                    pending.members().forEach(member -> ownerByMember.remove(member, owner));
+                }
+                slotAllocator.release(island.worldId(), island.x(), island.z());
+                player.sendMessage(messageUtil.getMessage("error-schematic", Map.of("file", type.getSchematicFile())));
+                return;
+            }
+            schematicService.generateOceanBorder(center, island.borderSize());
+            finishCreate(player, owner);
+        });
+        return true;
     }
 
+    private void finishCreate(@NotNull Player player, UUID owner) {
+        Island island = islandsByOwner.get(owner);
+        if (island == null) {
+            return; // Deleted while it was being built.
+        }
+        writeQueue.markDirty(island);
+        teleportService.teleport(player, island)
+                .thenRun(() -> player.sendMessage(messageUtil.getMessage("island-created")));
+    }
+
+    /**
+     * Deletes {@code player}'s island, which must be loaded; see {@link #withIsland}.
+     */
     public boolean deleteIsland(@NotNull Player player) {
-        Island island = islandsByOwner.remove(player.getUniqueId());
+        Island island = islandsByOwner.get(player.getUniqueId());
         if (island != null) {
-            if (!schematicService.clearIsland(island)) {
-                plugin.getLogger().warning("Failed to clear island for owner: " + player.getUniqueId());
-            }
-            databaseService.deleteIsland(island);
+            islandsByOwner.remove(island.owner());
+            islandGrid.remove(island.owner());
+            island.members().forEach(member -> ownerByMember.remove(member, island.owner()));
+            schematicService.clearIsland(island).thenRun(() -> slotAllocator.release(island.worldId(), island.x(), island.z()));
+            writeQueue.markDeleted(island.owner());
+            safeSpawnService.invalidate(island.owner());
             island.members().forEach(member -> {
                 Player memberPlayer = plugin.getServer().getPlayer(member);
-                if (memberPlayer != null && island.isWithinBorder(memberPlayer.getLocation())) {
-                    memberPlayer.teleport(memberPlayer.getWorld().getSpawnLocation());
+                if (memberPlayer != null) {
+                    scheduler.runFor(memberPlayer, () -> {
+                        if (island.isWithinBorder(memberPlayer.getLocation())) {
+                            memberPlayer.teleportAsync(memberPlayer.getWorld().getSpawnLocation());
+                        }
+                    });
                 }
             });
             player.sendMessage(messageUtil.getMessage("island-deleted"));
@@ -109,16 +456,21 @@ public class IslandService {
         return false;
     }
 
+    /**
+     * Buys the next level of {@code upgradeType} for {@code player}'s island, which
+     * must be loaded; see {@link #withIsland}.
+     */
     public boolean upgradeIsland(@NotNull Player player, UpgradeType upgradeType) {
         Island island = islandsByOwner.get(player.getUniqueId());
         if (island == null) {
             return false;
         }
-        int currentLevel = island.upgrades().getOrDefault(upgradeType.toString(), 0);
-        if (currentLevel >= upgradeType.getMaxLevel()) {
+        UpgradeRegistry registry = upgradeRegistry.registry();
+        int currentLevel = island.upgradeLevel(upgradeType);
+        if (currentLevel >= registry.maxLevel(upgradeType)) {
             return false;
         }
-        double cost = upgradeType.getCost(currentLevel);
+        double cost = registry.cost(upgradeType, currentLevel);
         if (!economyService.hasEnough(player, cost)) {
             player.sendMessage(messageUtil.getMessage("not-enough-money", Map.of("cost", String.valueOf(cost))));
             return false;
@@ -127,66 +479,93 @@ public class IslandService {
             player.sendMessage(messageUtil.getMessage("transaction-failed"));
             return false;
         }
-        int newLevel = currentLevel + upgradeType.getIncrement();
-        island.upgrades().put(upgradeType.toString(), newLevel);
-        databaseService.saveIsland(island);
+        int newLevel = Math.min(currentLevel + registry.increment(upgradeType), registry.maxLevel(upgradeType));
+        Island upgraded = island.withUpgradeLevel(upgradeType, newLevel);
+        if (upgradeType == UpgradeType.BORDER) {
+            upgraded = upgraded.withBorderSize(Island.BASE_BORDER_SIZE + newLevel);
+        }
+        if (!compareAndSet(island, upgraded)) {
+            // Someone else changed the island since the cost was quoted; refund rather than
+            // apply an upgrade priced against a stale level.
+            economyService.deposit(player, cost);
+            player.sendMessage(messageUtil.getMessage("transaction-failed"));
+            return false;
+        }
+        if (upgradeType == UpgradeType.BORDER) {
+            islandGrid.index(upgraded);
+            writeQueue.markRowChanged(upgraded);
+        }
+        writeQueue.markUpgradeChanged(upgraded, upgradeType);
         player.sendMessage(messageUtil.getMessage("upgrade-applied"));
         return true;
     }
 
+    /**
+     * Rebuilds {@code player}'s island from {@code type}'s schematic. The island must
+     * be loaded; see {@link #withIsland}.
+     */
     public boolean resetIsland(@NotNull Player player, IslandType type) {
         Island island = islandsByOwner.get(player.getUniqueId());
         if (island == null) {
             return false;
         }
-        if (!schematicService.clearIsland(island)) {
-            plugin.getLogger().warning("Failed to clear island for reset: " + player.getUniqueId());
-            return false;
-        }
-        if (!schematicService.loadSchematic(type, island.center())) {
-            player.sendMessage(messageUtil.getMessage("error-schematic", Map.of("file", type.getSchematicFile())));
-            return false;
-        }
-        generateOceanBorder(island.center());
-        island.upgrades().clear();
-        island.members().clear();
-        databaseService.saveIsland(island);
-        player.teleport(island.center());
+        UUID owner = island.owner();
+        Location center = island.center();
+        schematicService.clearIsland(island)
+                .thenCompose(ignored -> schematicService.loadSchematic(type, center))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        player.sendMessage(messageUtil.getMessage("error-schematic", Map.of("file", type.getSchematicFile())));
+                        return;
+                    }
+                    schematicService.generateOceanBorder(center, Island.BASE_BORDER_SIZE);
+                    Island reset = clearState(owner);
+                    safeSpawnService.invalidate(owner);
+                    if (reset != null) {
+                        teleportService.teleport(player, reset);
+                    }
+                });
         return true;
     }
 
-    private void generateOceanBorder(@NotNull Location center) {
-        int borderWidth = plugin.getConfig().getInt("world.border-width", 10);
-        int radius = 75 / 2 + borderWidth; // Default border size is 75
-        World world = center.getWorld();
-        if (world == null) return;
-        int centerX = center.getBlockX();
-        int centerZ = center.getBlockZ();
-        int y = 64; // Sea level
-        for (int x = centerX - radius; x <= centerX + radius; x++) {
-            for (int z = centerZ - radius; z <= centerZ + radius; z++) {
-                double distance = Math.sqrt(Math.pow(x - centerX, 2) + Math.pow(z - centerZ, 2));
-                if (distance > 75 / 2.0 && distance <= radius) {
-                    Block block = world.getBlockAt(x, y, z);
-                    block.setType(Material.WATER);
-                    for (int below = y - 1; below >= y - 5; below--) {
-                        world.getBlockAt(x, below, z).setType(Material.WATER);
-                    }
-                }
+    private @Nullable Island clearState(UUID owner) {
+        Island previous;
+        Island reset;
+        do {
+            previous = islandsByOwner.get(owner);
+            if (previous == null) {
+                return null;
             }
+            reset = previous.cleared();
+        } while (!compareAndSet(previous, reset));
+        for (UUID member : previous.members()) {
+            ownerByMember.remove(member, owner);
         }
+        islandGrid.index(reset);
+        writeQueue.markDirty(reset);
+        return reset;
     }
 
+    /**
+     * Allocates a slot in the ocean world holding the fewest islands, so region
+     * files and world saves are spread evenly over the shards.
+     */
     @Contract(" -> new")
     private @NotNull Location findNextIslandLocation() {
-        int radius = (int) Math.sqrt(islandsByOwner.size()) * 200;
-        double angle = Math.toRadians(islandsByOwner.size() * 30);
-        int x = (int) (radius * Math.cos(angle));
-        int z = (int) (radius * Math.sin(angle));
-        return new Location(oceanWorld, x, 64, z);
+        World target = oceanWorlds.get(0);
+        int lowest = slotAllocator.usedSlots(target.getUID());
+        for (World world : oceanWorlds) {
+            int used = slotAllocator.usedSlots(world.getUID());
+            if (used < lowest) {
+                lowest = used;
+                target = world;
+            }
+        }
+        return slotAllocator.allocate(target);
     }
 
     public void saveAllIslands() {
-        islandsByOwner.values().forEach(databaseService::saveIsland);
+        int written = writeQueue.flush();
+        plugin.getLogger().info("Saved " + written + " changed island(s).");
     }
 }
\ No newline at end of file
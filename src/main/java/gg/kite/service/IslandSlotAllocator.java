@@ -0,0 +1,220 @@
+package gg.kite.service;
+
+import com.google.inject.Inject;
+import gg.kite.model.Island;
+import gg.kite.model.IslandBounds;
+import gg.kite.model.UpgradeType;
+import gg.kite.storage.DatabaseService;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Hands out island slots on a square spiral around each ocean world's origin,
+ * always the lowest free one, so islands stay packed around spawn and slots of
+ * deleted islands are reused. Slot {@code n} sits at spiral cell {@code n} scaled
+ * by {@code world.island-spacing}.
+ * <p>
+ * Occupied slots are persisted. On startup they are reconciled with the islands
+ * and pooled islands that actually exist: slots covered by an island are kept or
+ * added, including the cells overlapped by islands placed before slots existed,
+ * and anything else is freed.
+ * <p>
+ * Islands are created and deleted from several region threads, so every public
+ * method is synchronized.
+ */
+public class IslandSlotAllocator {
+    private static final int SEA_LEVEL = 64;
+
+    private final JavaPlugin plugin;
+    private final DatabaseService databaseService;
+    private final Map<UUID, WorldSlots> worlds;
+    private final int spacing;
+    private final int margin;
+
+    @Inject
+    public IslandSlotAllocator(@NotNull JavaPlugin plugin, DatabaseService databaseService,
+                               UpgradeRegistryService upgradeRegistry) {
+        this.plugin = plugin;
+        this.databaseService = databaseService;
+        this.worlds = new HashMap<>();
+        this.spacing = Math.max(16, plugin.getConfig().getInt("world.island-spacing", 256));
+        this.margin = plugin.getConfig().getInt("world.border-width", 10);
+        int footprint = Island.BASE_BORDER_SIZE + upgradeRegistry.registry().maxLevel(UpgradeType.BORDER) + 2 * margin;
+        if (spacing < footprint) {
+            plugin.getLogger().warning("world.island-spacing (" + spacing + ") is smaller than a fully upgraded island ("
+                    + footprint + "); neighbouring islands may overlap.");
+        }
+    }
+
+    public synchronized void load(@NotNull World world) {
+        WorldSlots slots = new WorldSlots(world.getName());
+        slots.persisted = databaseService.getIslandSlots(world.getName());
+        worlds.put(world.getUID(), slots);
+    }
+
+    /**
+     * Marks every slot whose cell the island, including its water ring, overlaps.
+     */
+    public synchronized void reserve(@NotNull IslandBounds bounds) {
+        WorldSlots slots = worlds.get(bounds.worldId());
+        if (slots == null) {
+            return;
+        }
+        int minCellX = cellOf(bounds.minX() - margin);
+        int maxCellX = cellOf(bounds.maxX() + margin);
+        int minCellZ = cellOf(bounds.minZ() - margin);
+        int maxCellZ = cellOf(bounds.maxZ() + margin);
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellZ = minCellZ; cellZ <= maxCellZ; cellZ++) {
+                slots.used.set(slotOf(cellX, cellZ));
+            }
+        }
+    }
+
+    /**
+     * Persists the reservations made since {@link #load(World)} and frees persisted
+     * slots that no island claimed.
+     */
+    public synchronized void commit() {
+        worlds.values().forEach(slots -> {
+            BitSet added = (BitSet) slots.used.clone();
+            added.andNot(slots.persisted);
+            BitSet removed = (BitSet) slots.persisted.clone();
+            removed.andNot(slots.used);
+            databaseService.updateIslandSlots(slots.worldName, added, removed);
+            if (!removed.isEmpty()) {
+                plugin.getLogger().info("Freed " + removed.cardinality() + " unused island slot(s) in " + slots.worldName + ".");
+            }
+            slots.persisted = new BitSet();
+            slots.lowestFree = slots.used.nextClearBit(0);
+        });
+    }
+
+    public synchronized int usedSlots(UUID worldId) {
+        WorldSlots slots = worlds.get(worldId);
+        return slots == null ? 0 : slots.used.cardinality();
+    }
+
+    @Contract("_ -> new")
+    public synchronized @NotNull Location allocate(@NotNull World world) {
+        WorldSlots slots = worlds.get(world.getUID());
+        if (slots == null) {
+            throw new IllegalStateException("World " + world.getName() + " has no island slots loaded");
+        }
+        int slot = slots.used.nextClearBit(slots.lowestFree);
+        slots.used.set(slot);
+        slots.lowestFree = slot + 1;
+        persist(slots, slot, true);
+        long cell = cellOfSlot(slot);
+        return new Location(world, (double) cellX(cell) * spacing, SEA_LEVEL, (double) cellZ(cell) * spacing);
+    }
+
+    /**
+     * Frees the slot centered on the given position. Islands placed before slots
+     * existed are not centered on one; their cells are freed on the next startup.
+     */
+    public synchronized void release(UUID worldId, double x, double z) {
+        WorldSlots slots = worlds.get(worldId);
+        if (slots == null || x != Math.rint(x) || z != Math.rint(z)
+                || (long) x % spacing != 0 || (long) z % spacing != 0) {
+            return;
+        }
+        int slot = slotOf((int) ((long) x / spacing), (int) ((long) z / spacing));
+        if (slots.used.get(slot)) {
+            slots.used.clear(slot);
+            slots.lowestFree = Math.min(slots.lowestFree, slot);
+            persist(slots, slot, false);
+        }
+    }
+
+    private void persist(@NotNull WorldSlots slots, int slot, boolean occupied) {
+        BitSet changed = new BitSet();
+        changed.set(slot);
+        if (occupied) {
+            databaseService.updateIslandSlots(slots.worldName, changed, new BitSet());
+        } else {
+            databaseService.updateIslandSlots(slots.worldName, new BitSet(), changed);
+        }
+    }
+
+    private int cellOf(int coordinate) {
+        return Math.floorDiv(coordinate + spacing / 2, spacing);
+    }
+
+    /**
+     * Index of a cell on the square spiral: 0 is the origin and ring {@code k}
+     * holds the {@code 8k} cells at Chebyshev distance {@code k}, starting at
+     * index {@code (2k - 1)^2}.
+     */
+    static int slotOf(int cellX, int cellZ) {
+        int ring = Math.max(Math.abs(cellX), Math.abs(cellZ));
+        if (ring == 0) {
+            return 0;
+        }
+        int side = 2 * ring;
+        int base = (side - 1) * (side - 1);
+        if (cellX == ring && cellZ > -ring) {
+            return base + cellZ + ring - 1;
+        }
+        if (cellZ == ring) {
+            return base + side + ring - 1 - cellX;
+        }
+        if (cellX == -ring) {
+            return base + 2 * side + ring - 1 - cellZ;
+        }
+        return base + 3 * side + cellX + ring - 1;
+    }
+
+    static long cellOfSlot(int slot) {
+        if (slot == 0) {
+            return pack(0, 0);
+        }
+        int ring = (int) Math.ceil((Math.sqrt(slot + 1) - 1) / 2);
+        // Guard against floating point rounding at ring boundaries.
+        if ((2 * ring - 1) * (2 * ring - 1) > slot) {
+            ring--;
+        } else if ((2 * ring + 1) * (2 * ring + 1) <= slot) {
+            ring++;
+        }
+        int side = 2 * ring;
+        int offset = slot - (side - 1) * (side - 1);
+        int position = offset % side;
+        return switch (offset / side) {
+            case 0 -> pack(ring, -ring + 1 + position);
+            case 1 -> pack(ring - 1 - position, ring);
+            case 2 -> pack(-ring, ring - 1 - position);
+            default -> pack(-ring + 1 + position, -ring);
+        };
+    }
+
+    private static long pack(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    static int cellX(long cell) {
+        return (int) (cell >> 32);
+    }
+
+    static int cellZ(long cell) {
+        return (int) cell;
+    }
+
+    private static final class WorldSlots {
+        private final String worldName;
+        private final BitSet used = new BitSet();
+        private BitSet persisted = new BitSet();
+        private int lowestFree;
+
+        private WorldSlots(String worldName) {
+            this.worldName = worldName;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,279 @@
+package gg.kite.service;
+
+import com.google.inject.Inject;
+import gg.kite.util.MessageUtil;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.entity.Projectile;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockIgniteEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.BlockSpreadEvent;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.hanging.HangingBreakByEntityEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Protects islands in the ocean worlds. Only the owner and members may build on an
+ * island or hurt and use the entities on it, and nobody may build between islands.
+ * Explosions, pistons, flowing liquids and fire may act within an island or
+ * within open water, but never across a border.
+ * <p>
+ * Each check resolves the island once, from the index cell of the block's chunk,
+ * and the actor's role from the member index kept for every island, so no event
+ * loads an island or touches another chunk. Players with
+ * {@code beachislands.admin} bypass the player checks. A denied player is told
+ * why at most once per {@code islands.protection.message-cooldown-millis} for
+ * each message.
+ */
+public class ProtectionService implements Listener {
+    private static final String BYPASS_PERMISSION = "beachislands.admin";
+
+    private final IslandService islandService;
+    private final MessageUtil messageUtil;
+    private final Map<UUID, Warning> lastWarnings;
+    private final long cooldownMillis;
+
+    @Inject
+    public ProtectionService(@NotNull JavaPlugin plugin, IslandService islandService, MessageUtil messageUtil) {
+        this.islandService = islandService;
+        this.messageUtil = messageUtil;
+        this.lastWarnings = new ConcurrentHashMap<>();
+        this.cooldownMillis = Math.max(0L, plugin.getConfig().getLong("islands.protection.message-cooldown-millis", 2000L));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        lastWarnings.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBlockPlace(@NotNull BlockPlaceEvent event) {
+        if (deniesBuild(event.getPlayer(), event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBlockBreak(@NotNull BlockBreakEvent event) {
+        if (deniesBuild(event.getPlayer(), event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBucketEmpty(@NotNull PlayerBucketEmptyEvent event) {
+        if (deniesBuild(event.getPlayer(), event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBucketFill(@NotNull PlayerBucketFillEvent event) {
+        if (deniesBuild(event.getPlayer(), event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onIgnite(@NotNull BlockIgniteEvent event) {
+        Player player = event.getPlayer();
+        Block source = event.getIgnitingBlock();
+        if (player != null) {
+            if (deniesBuild(player, event.getBlock())) {
+                event.setCancelled(true);
+            }
+        } else if (source != null && crossesBorder(source, event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBurn(@NotNull BlockBurnEvent event) {
+        Block source = event.getIgnitingBlock();
+        if (source != null && crossesBorder(source, event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onFireSpread(@NotNull BlockSpreadEvent event) {
+        Material type = event.getSource().getType();
+        if ((type == Material.FIRE || type == Material.SOUL_FIRE) && crossesBorder(event.getSource(), event.getBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onFluidFlow(@NotNull BlockFromToEvent event) {
+        if (crossesBorder(event.getBlock(), event.getToBlock())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onPistonExtend(@NotNull BlockPistonExtendEvent event) {
+        if (movesAcrossBorder(event.getBlock(), event.getBlocks(), event.getDirection())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onPistonRetract(@NotNull BlockPistonRetractEvent event) {
+        if (movesAcrossBorder(event.getBlock(), event.getBlocks(), event.getDirection())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onEntityExplode(@NotNull EntityExplodeEvent event) {
+        keepSameIsland(event.getLocation(), event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onBlockExplode(@NotNull BlockExplodeEvent event) {
+        keepSameIsland(event.getBlock().getLocation(), event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onEntityDamage(@NotNull EntityDamageByEntityEvent event) {
+        if (event.getEntity() instanceof Player) {
+            return;
+        }
+        Player attacker = playerBehind(event.getDamager());
+        if (attacker != null && deniesUse(attacker, event.getEntity().getLocation())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onHangingBreak(@NotNull HangingBreakByEntityEvent event) {
+        Player remover = event.getRemover() == null ? null : playerBehind(event.getRemover());
+        if (remover != null && deniesUse(remover, event.getEntity().getLocation())) {
+            event.setCancelled(true);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.LOW, ignoreCancelled = true)
+    public void onEntityInteract(@NotNull PlayerInteractEntityEvent event) {
+        if (deniesUse(event.getPlayer(), event.getRightClicked().getLocation())) {
+            event.setCancelled(true);
+        }
+    }
+
+    /**
+     * Whether {@code player} may not change {@code block}: it lies on an island they
+     * do not belong to, or between islands.
+     */
+    private boolean deniesBuild(@NotNull Player player, @NotNull Block block) {
+        World world = block.getWorld();
+        if (!islandService.isOceanWorld(world)) {
+            return false;
+        }
+        UUID owner = islandService.ownerAt(world, block.getX(), block.getZ());
+        if (owner != null && islandService.roleOn(owner, player.getUniqueId()).canBuild()) {
+            return false;
+        }
+        return deny(player, owner == null ? "border-restricted" : "island-protected");
+    }
+
+    /**
+     * Whether {@code player} may not hurt or use an entity at {@code location}.
+     * Entities between islands are fair game.
+     */
+    private boolean deniesUse(@NotNull Player player, @NotNull Location location) {
+        World world = location.getWorld();
+        if (!islandService.isOceanWorld(world)) {
+            return false;
+        }
+        UUID owner = islandService.ownerAt(world, location.getBlockX(), location.getBlockZ());
+        if (owner == null || islandService.roleOn(owner, player.getUniqueId()).canBuild()) {
+            return false;
+        }
+        return deny(player, "island-protected");
+    }
+
+    private boolean deny(@NotNull Player player, @NotNull String messageKey) {
+        if (player.hasPermission(BYPASS_PERMISSION)) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        Warning last = lastWarnings.get(player.getUniqueId());
+        if (last == null || !last.messageKey().equals(messageKey) || now - last.sentAt() >= cooldownMillis) {
+            lastWarnings.put(player.getUniqueId(), new Warning(messageKey, now));
+            player.sendMessage(messageUtil.getMessage(messageKey));
+        }
+        return true;
+    }
+
+    private boolean crossesBorder(@NotNull Block from, @NotNull Block to) {
+        if (from.getX() == to.getX() && from.getZ() == to.getZ()) {
+            return false; // Same column, same island.
+        }
+        World world = from.getWorld();
+        return islandService.isOceanWorld(world) && !Objects.equals(
+                islandService.ownerAt(world, from.getX(), from.getZ()),
+                islandService.ownerAt(world, to.getX(), to.getZ()));
+    }
+
+    private boolean movesAcrossBorder(@NotNull Block piston, @NotNull List<Block> moved, @NotNull BlockFace direction) {
+        World world = piston.getWorld();
+        if (moved.isEmpty() || !islandService.isOceanWorld(world)) {
+            return false;
+        }
+        UUID owner = islandService.ownerAt(world, piston.getX(), piston.getZ());
+        for (Block block : moved) {
+            if (!Objects.equals(owner, islandService.ownerAt(world, block.getX(), block.getZ()))
+                    || !Objects.equals(owner, islandService.ownerAt(world,
+                    block.getX() + direction.getModX(), block.getZ() + direction.getModZ()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void keepSameIsland(@NotNull Location origin, @NotNull List<Block> blocks) {
+        World world = origin.getWorld();
+        if (blocks.isEmpty() || !islandService.isOceanWorld(world)) {
+            return;
+        }
+        UUID owner = islandService.ownerAt(world, origin.getBlockX(), origin.getBlockZ());
+        blocks.removeIf(block -> !Objects.equals(owner, islandService.ownerAt(world, block.getX(), block.getZ())));
+    }
+
+    private static @Nullable Player playerBehind(@NotNull Entity entity) {
+        if (entity instanceof Player player) {
+            return player;
+        }
+        return entity instanceof Projectile projectile && projectile.getShooter() instanceof Player shooter ? shooter : null;
+    }
+
+    private record Warning(String messageKey, long sentAt) {
+    }
+}
\ No newline at end of file
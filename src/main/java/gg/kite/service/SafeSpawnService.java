@@ -0,0 +1,214 @@
+package gg.kite.service;
+
+import com.google.inject.Inject;
+import gg.kite.model.Island;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Finds a safe place to stand near each island's center: solid ground with two
+ * free blocks above it, as close to the center as possible within
+ * {@code islands.spawn.search-radius}. The chunks are snapshotted on their own
+ * thread and searched off it. Results are cached per island until a block next
+ * to the spot changes or the island is reset.
+ */
+public class SafeSpawnService implements Listener {
+    private static final Set<Material> HAZARDS = EnumSet.of(Material.LAVA, Material.MAGMA_BLOCK, Material.CACTUS,
+            Material.CAMPFIRE, Material.SOUL_CAMPFIRE, Material.FIRE, Material.SOUL_FIRE, Material.SWEET_BERRY_BUSH,
+            Material.POWDER_SNOW, Material.POINTED_DRIPSTONE, Material.WITHER_ROSE);
+
+    private final SchedulerService scheduler;
+    private final Map<UUID, CompletableFuture<Location>> spawns;
+    private final Map<UUID, Map<Long, UUID>> ownersByColumn;
+    private final int radius;
+    private final int[] offsets;
+
+    @Inject
+    public SafeSpawnService(@NotNull JavaPlugin plugin, SchedulerService scheduler) {
+        this.scheduler = scheduler;
+        this.spawns = new ConcurrentHashMap<>();
+        this.ownersByColumn = new ConcurrentHashMap<>();
+        this.radius = Math.max(0, Math.min(15, plugin.getConfig().getInt("islands.spawn.search-radius", 8)));
+        this.offsets = nearestFirst(radius);
+    }
+
+    /**
+     * Column offsets within {@code radius}, packed as {@code dx, dz} pairs and
+     * ordered by distance from the center.
+     */
+    private static int @NotNull [] nearestFirst(int radius) {
+        List<int[]> columns = new ArrayList<>();
+        for (int dx = -radius; dx <= radius; dx++) {
+            for (int dz = -radius; dz <= radius; dz++) {
+                if (dx * dx + dz * dz <= radius * radius) {
+                    columns.add(new int[]{dx, dz});
+                }
+            }
+        }
+        columns.sort(Comparator.comparingInt(column -> column[0] * column[0] + column[1] * column[1]));
+        return columns.stream().flatMapToInt(Arrays::stream).toArray();
+    }
+
+    /**
+     * Returns the island's safe spawn, falling back to its center when no safe spot
+     * is found.
+     */
+    public CompletableFuture<Location> resolve(@NotNull Island island) {
+        World world = island.world();
+        if (world == null) {
+            return CompletableFuture.completedFuture(island.center());
+        }
+        CompletableFuture<Location> search = spawns.get(island.owner());
+        if (search == null || search.isCompletedExceptionally()) {
+            CompletableFuture<Location> started = snapshot(world, island.center())
+                    .thenApplyAsync(snapshots -> find(world, island.center(), snapshots), scheduler.asyncExecutor());
+            spawns.put(island.owner(), started);
+            started.thenAccept(spawn -> {
+                // Only index the result if the island was not invalidated while searching.
+                if (spawns.get(island.owner()) == started) {
+                    index(island.owner(), spawn);
+                }
+            });
+            search = started;
+        }
+        return search.exceptionally(error -> island.center());
+    }
+
+    public void invalidate(UUID owner) {
+        CompletableFuture<Location> removed = spawns.remove(owner);
+        Location spawn = removed == null ? null : removed.getNow(null);
+        if (spawn == null) {
+            return;
+        }
+        Map<Long, UUID> owners = ownersByColumn.get(spawn.getWorld().getUID());
+        if (owners != null) {
+            forEachColumn(spawn, key -> owners.remove(key, owner));
+        }
+    }
+
+    private void index(UUID owner, @NotNull Location spawn) {
+        Map<Long, UUID> owners = ownersByColumn.computeIfAbsent(spawn.getWorld().getUID(), id -> new ConcurrentHashMap<>());
+        forEachColumn(spawn, key -> owners.put(key, owner));
+    }
+
+    private static void forEachColumn(@NotNull Location spawn, @NotNull LongConsumer action) {
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                action.accept(IslandGrid.chunkKey(spawn.getBlockX() + dx, spawn.getBlockZ() + dz));
+            }
+        }
+    }
+
+    private CompletableFuture<Map<Long, ChunkSnapshot>> snapshot(@NotNull World world, @NotNull Location center) {
+        Map<Long, ChunkSnapshot> snapshots = new ConcurrentHashMap<>();
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        for (int chunkX = (center.getBlockX() - radius) >> 4; chunkX <= (center.getBlockX() + radius) >> 4; chunkX++) {
+            for (int chunkZ = (center.getBlockZ() - radius) >> 4; chunkZ <= (center.getBlockZ() + radius) >> 4; chunkZ++) {
+                long key = IslandGrid.chunkKey(chunkX, chunkZ);
+                loads.add(world.getChunkAtAsync(chunkX, chunkZ)
+                        .thenAccept(chunk -> snapshots.put(key, chunk.getChunkSnapshot(true, false, false))));
+            }
+        }
+        return CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new)).thenApply(ignored -> new HashMap<>(snapshots));
+    }
+
+    private @NotNull Location find(@NotNull World world, @NotNull Location center, @NotNull Map<Long, ChunkSnapshot> snapshots) {
+        for (int i = 0; i < offsets.length; i += 2) {
+            int x = center.getBlockX() + offsets[i];
+            int z = center.getBlockZ() + offsets[i + 1];
+            ChunkSnapshot snapshot = snapshots.get(IslandGrid.chunkKey(x >> 4, z >> 4));
+            int floor = snapshot == null ? Integer.MIN_VALUE : floorAt(world, snapshot, x & 15, z & 15);
+            if (floor != Integer.MIN_VALUE) {
+                return new Location(world, x + 0.5, floor + 1, z + 0.5, center.getYaw(), center.getPitch());
+            }
+        }
+        return center;
+    }
+
+    /**
+     * Returns the y of the safe floor in the column, or {@link Integer#MIN_VALUE}.
+     */
+    private static int floorAt(@NotNull World world, @NotNull ChunkSnapshot snapshot, int x, int z) {
+        int y = snapshot.getHighestBlockYAt(x, z);
+        // The heightmap may stop on a thin block such as a snow layer or a carpet.
+        for (int step = 0; step < 2 && y > world.getMinHeight() && isPassable(snapshot.getBlockType(x, y, z)); step++) {
+            y--;
+        }
+        Material floor = snapshot.getBlockType(x, y, z);
+        if (!floor.isSolid() || HAZARDS.contains(floor) || y + 2 >= world.getMaxHeight()) {
+            return Integer.MIN_VALUE;
+        }
+        if (!isPassable(snapshot.getBlockType(x, y + 1, z)) || !isPassable(snapshot.getBlockType(x, y + 2, z))) {
+            return Integer.MIN_VALUE;
+        }
+        return y;
+    }
+
+    private static boolean isPassable(@NotNull Material material) {
+        return !material.isSolid() && material != Material.WATER && !HAZARDS.contains(material);
+    }
+
+    private void invalidateNear(@NotNull Block block) {
+        Map<Long, UUID> owners = ownersByColumn.get(block.getWorld().getUID());
+        UUID owner = owners == null ? null : owners.get(IslandGrid.chunkKey(block.getX(), block.getZ()));
+        if (owner == null) {
+            return;
+        }
+        CompletableFuture<Location> cached = spawns.get(owner);
+        Location spawn = cached == null ? null : cached.getNow(null);
+        if (spawn != null && block.getY() >= spawn.getBlockY() - 1 && block.getY() <= spawn.getBlockY() + 1) {
+            invalidate(owner);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(@NotNull BlockPlaceEvent event) {
+        invalidateNear(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(@NotNull BlockBreakEvent event) {
+        invalidateNear(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFluidFlow(@NotNull BlockFromToEvent event) {
+        invalidateNear(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(@NotNull BlockExplodeEvent event) {
+        event.blockList().forEach(this::invalidateNear);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(@NotNull EntityExplodeEvent event) {
+        event.blockList().forEach(this::invalidateNear);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package gg.kite.service;
+
+import com.google.inject.Inject;
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Routes work to the scheduler that owns it: block and island work to the region
+ * owning the location, player work to the entity's scheduler, plugin-wide
+ * bookkeeping to the global region and blocking I/O to async threads.
+ * <p>
+ * On Paper every scheduler except the async one runs on the main thread; on
+ * Folia they run on the owning region's thread, so islands far apart are worked
+ * on in parallel.
+ */
+public class SchedulerService {
+    private final JavaPlugin plugin;
+    private final boolean folia;
+
+    @Inject
+    public SchedulerService(@NotNull JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.folia = classExists("io.papermc.paper.threadedregions.RegionizedServer");
+    }
+
+    private static boolean classExists(String name) {
+        try {
+            Class.forName(name);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    public boolean isFolia() {
+        return folia;
+    }
+
+    public void runGlobal(@NotNull Runnable task) {
+        plugin.getServer().getGlobalRegionScheduler().execute(plugin, task);
+    }
+
+    public ScheduledTask runGlobalTimer(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        return plugin.getServer().getGlobalRegionScheduler()
+                .runAtFixedRate(plugin, scheduled -> task.run(), Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+    }
+
+    public void runAt(@NotNull Location location, @NotNull Runnable task) {
+        plugin.getServer().getRegionScheduler().execute(plugin, location, task);
+    }
+
+    public void runAt(@NotNull World world, int chunkX, int chunkZ, @NotNull Runnable task) {
+        plugin.getServer().getRegionScheduler().execute(plugin, world, chunkX, chunkZ, task);
+    }
+
+    public ScheduledTask runAtDelayed(@NotNull World world, int chunkX, int chunkZ, @NotNull Runnable task, long delayTicks) {
+        return plugin.getServer().getRegionScheduler()
+                .runDelayed(plugin, world, chunkX, chunkZ, scheduled -> task.run(), Math.max(1L, delayTicks));
+    }
+
+    public boolean isOwnedByCurrentRegion(@NotNull World world, int chunkX, int chunkZ) {
+        return plugin.getServer().isOwnedByCurrentRegion(world, chunkX, chunkZ);
+    }
+
+    /**
+     * Runs {@code task} on the entity's scheduler; it is dropped if the entity is
+     * removed, for example because the player logged out.
+     */
+    public void runFor(@NotNull Entity entity, @NotNull Runnable task) {
+        runFor(entity, task, null);
+    }
+
+    /**
+     * Like {@link #runFor(Entity, Runnable)}, running {@code retired} instead if the
+     * entity is removed before the task runs.
+     */
+    public void runFor(@NotNull Entity entity, @NotNull Runnable task, @Nullable Runnable retired) {
+        if (!entity.getScheduler().execute(plugin, task, retired, 1L) && retired != null) {
+            retired.run();
+        }
+    }
+
+    public void runAsync(@NotNull Runnable task) {
+        plugin.getServer().getAsyncScheduler().runNow(plugin, scheduled -> task.run());
+    }
+
+    public Executor asyncExecutor() {
+        return this::runAsync;
+    }
+}
\ No newline at end of file
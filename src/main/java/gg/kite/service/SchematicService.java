@@ -1,40 +1,50 @@
 package gg.kite.service;
 
 import com.google.inject.Inject;
-import com.sk89q.worldedit.WorldEdit;
-import com.sk89q.worldedit.WorldEditException;
 import com.sk89q.worldedit.bukkit.BukkitAdapter;
 import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
 import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
-import com.sk89q.worldedit.function.operation.Operation;
-import com.sk89q.worldedit.function.operation.Operations;
-import com.sk89q.worldedit.function.pattern.Pattern;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
 import com.sk89q.worldedit.math.BlockVector3;
-import com.sk89q.worldedit.regions.CuboidRegion;
-import com.sk89q.worldedit.session.ClipboardHolder;
+import com.sk89q.worldedit.world.block.BlockState;
 import com.sk89q.worldedit.world.block.BlockTypes;
 import gg.kite.model.Island;
 import gg.kite.model.IslandType;
 import gg.kite.util.MessageUtil;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.Objects;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public class SchematicService {
+    private static final int SEA_LEVEL = 64;
+
     private final JavaPlugin plugin;
     private final File schematicsFolder;
     private final MessageUtil messageUtil;
+    private final IslandEditService editService;
+    private final Map<IslandType, CachedClipboard> clipboards = new ConcurrentHashMap<>();
+    private final boolean skipEmptySections;
 
     @Inject
-    public SchematicService(@NotNull JavaPlugin plugin, MessageUtil messageUtil) {
+    public SchematicService(@NotNull JavaPlugin plugin, MessageUtil messageUtil, IslandEditService editService) {
         this.plugin = plugin;
         this.messageUtil = messageUtil;
+        this.editService = editService;
+        this.skipEmptySections = plugin.getConfig().getBoolean("islands.edit.skip-empty-sections", true);
         this.schematicsFolder = new File(plugin.getDataFolder(), plugin.getConfig().getString("schematics.directory", "schematics"));
     }
 
@@ -44,53 +54,201 @@ public class SchematicService {
                 plugin.getLogger().warning("Failed to create schematics directory: " + schematicsFolder.getPath());
             }
         }
+        reloadSchematics();
     }
 
-    public boolean loadSchematic(IslandType type, @NotNull Location location) {
-        if (location.getWorld() == null) {
-            plugin.getLogger().severe("Cannot load schematic: World is null for location " + location);
-            return false;
+    /**
+     * Re-reads every schematic whose file changed since it was cached. Returns the
+     * estimated memory held by each one that is loaded, and which of them were
+     * replaced by a new copy.
+     */
+    public ReloadResult reloadSchematics() {
+        Map<IslandType, Long> loaded = new EnumMap<>(IslandType.class);
+        Set<IslandType> replaced = EnumSet.noneOf(IslandType.class);
+        for (IslandType type : IslandType.values()) {
+            CachedClipboard cached = clipboards.get(type);
+            if (cached == null || cached.lastModified() != schematicFile(type).lastModified()) {
+                cached = readClipboard(type);
+                if (cached == null) {
+                    clipboards.remove(type);
+                    continue;
+                }
+                clipboards.put(type, cached);
+                replaced.add(type);
+                plugin.getLogger().info("Cached schematic " + type.getSchematicFile() + " (~"
+                        + cached.estimatedBytes() / 1024 + " KiB)");
+            }
+            loaded.put(type, cached.estimatedBytes());
+        }
+        return new ReloadResult(loaded, replaced);
+    }
+
+    /**
+     * Returns the parsed clipboard for {@code type}, re-reading the file only when
+     * its modification time differs from the cached copy.
+     */
+    private @Nullable Clipboard getClipboard(IslandType type) {
+        CachedClipboard cached = clipboards.get(type);
+        if (cached != null && cached.lastModified() == schematicFile(type).lastModified()) {
+            return cached.clipboard();
+        }
+        CachedClipboard reloaded = readClipboard(type);
+        if (reloaded == null) {
+            if (cached != null) {
+                plugin.getLogger().warning("Keeping previously cached copy of " + type.getSchematicFile());
+                return cached.clipboard();
+            }
+            return null;
         }
-        File schematicFile = new File(schematicsFolder, type.getSchematicFile());
+        clipboards.put(type, reloaded);
+        return reloaded.clipboard();
+    }
+
+    private @Nullable CachedClipboard readClipboard(IslandType type) {
+        File schematicFile = schematicFile(type);
         if (!schematicFile.exists()) {
             plugin.getLogger().warning("Schematic file not found: " + schematicFile.getPath());
-            return false;
+            return null;
+        }
+        ClipboardFormat format = ClipboardFormats.findByFile(schematicFile);
+        if (format == null) {
+            plugin.getLogger().warning("Unknown schematic format: " + schematicFile.getPath());
+            return null;
+        }
+        long lastModified = schematicFile.lastModified();
+        try (FileInputStream fis = new FileInputStream(schematicFile);
+             ClipboardReader reader = format.getReader(fis)) {
+            Clipboard clipboard = reader.read();
+            return new CachedClipboard(clipboard, lastModified, estimateBytes(clipboard));
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to read schematic: " + type.getSchematicFile(), e);
+            return null;
         }
+    }
+
+    private static long estimateBytes(@NotNull Clipboard clipboard) {
+        // Block states are shared, so each block costs roughly one compressed reference.
+        BlockVector3 size = clipboard.getDimensions();
+        return (long) size.getBlockX() * size.getBlockY() * size.getBlockZ() * Integer.BYTES;
+    }
 
-        try (FileInputStream fis = new FileInputStream(schematicFile)) {
-            Clipboard clipboard = Objects.requireNonNull(ClipboardFormats.findByFile(schematicFile))
-                    .getReader(fis)
-                    .read();
-            ClipboardHolder holder = new ClipboardHolder(clipboard);
-            Operation operation = holder.createPaste(WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(location.getWorld())))
-                    .to(BukkitAdapter.asBlockVector(location))
-                    .ignoreAirBlocks(true)
-                    .build();
-            Operations.complete(operation);
-            return true;
-        } catch (IOException | WorldEditException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to load schematic: " + type.getSchematicFile(), e);
-            return false;
+    private @NotNull File schematicFile(@NotNull IslandType type) {
+        return new File(schematicsFolder, type.getSchematicFile());
+    }
+
+    /**
+     * Queues a paste of the schematic for {@code type}. The future fails if the
+     * schematic could not be loaded or pasted.
+     */
+    public CompletableFuture<Void> loadSchematic(IslandType type, @NotNull Location location) {
+        if (location.getWorld() == null) {
+            plugin.getLogger().severe("Cannot load schematic: World is null for location " + location);
+            return CompletableFuture.failedFuture(new IllegalStateException("World is not loaded"));
+        }
+        Clipboard clipboard = getClipboard(type);
+        if (clipboard == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Schematic " + type.getSchematicFile() + " is not available"));
         }
+        return editService.paste(clipboard, location, true).completion().whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to load schematic: " + type.getSchematicFile(), error);
+            }
+        });
     }
 
-    public boolean clearIsland(@NotNull Island island) {
-        if (island.center().getWorld() == null) {
+    public CompletableFuture<Void> clearIsland(@NotNull Island island) {
+        if (island.world() == null) {
             plugin.getLogger().severe("Cannot clear island: World is null for island owned by " + island.owner());
-            return false;
+            return CompletableFuture.failedFuture(new IllegalStateException("World is not loaded"));
+        }
+        return clearArea(island.center(), island.borderSize(), "island of " + island.owner());
+    }
+
+    /**
+     * Clears the island-sized area around {@code center}; {@code label} names it
+     * in the log.
+     */
+    public CompletableFuture<Void> clearArea(@NotNull Location center, int borderSize, @NotNull String label) {
+        World world = center.getWorld();
+        if (world == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("World is not loaded"));
         }
-        try {
-            BlockVector3 min = BukkitAdapter.asBlockVector(island.center()).subtract(island.borderSize() / 2, 64, island.borderSize() / 2);
-            BlockVector3 max = min.add(island.borderSize(), 256, island.borderSize());
-            CuboidRegion region = new CuboidRegion(BukkitAdapter.adapt(island.center().getWorld()), min, max);
-            try (com.sk89q.worldedit.EditSession editSession = WorldEdit.getInstance().newEditSession(BukkitAdapter.adapt(island.center().getWorld()))) {
-                editSession.setBlocks(region, (Pattern) BlockTypes.AIR);
+        BlockVector3 min = BukkitAdapter.asBlockVector(center).subtract(borderSize / 2, 64, borderSize / 2);
+        BlockVector3 max = min.add(borderSize, 256, borderSize);
+        IslandEditService.EditJob job = editService.clear(world, min, max, skipEmptySections);
+        return job.completion().whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.SEVERE, "Failed to clear " + label, error);
+                return;
             }
-            return true;
-        } catch (WorldEditException e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to clear island for owner: " + island.owner(), e);
-            return false;
+            plugin.getLogger().info(String.format("Cleared %s: %d block(s) in %.2f ms over %d tick(s)",
+                    label, job.blocksWritten(), job.workNanos() / 1_000_000.0, job.ticks()));
+        });
+    }
+
+    /**
+     * Fills a ring of water, six blocks deep at sea level, between the island's
+     * border and {@code world.border-width} blocks beyond it. Only air is replaced,
+     * and columns inside the island's square are never touched, so the ring cannot
+     * flood anything built on the island.
+     */
+    public CompletableFuture<Void> generateOceanBorder(@NotNull Location center, int borderSize) {
+        World world = center.getWorld();
+        if (world == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("World is not loaded"));
         }
+        int borderWidth = plugin.getConfig().getInt("world.border-width", 10);
+        int radius = borderSize / 2 + borderWidth;
+        // Comparing integer squared distances: d > borderSize / 2 holds exactly when d^2 > floor(borderSize^2 / 4).
+        long innerSquared = (long) borderSize * borderSize / 4;
+        long outerSquared = (long) radius * radius;
+        int halfSize = borderSize / 2;
+        int centerX = center.getBlockX();
+        int centerZ = center.getBlockZ();
+        BlockVector3 min = BlockVector3.at(centerX - radius, SEA_LEVEL - 5, centerZ - radius);
+        BlockVector3 max = BlockVector3.at(centerX + radius, SEA_LEVEL, centerZ + radius);
+        BlockState water = BlockTypes.WATER.getDefaultState();
+        IslandEditService.EditJob job = editService.edit(world, min, max, (session, section) -> {
+            BlockVector3 from = section.getMinimumPoint();
+            BlockVector3 to = section.getMaximumPoint();
+            int written = 0;
+            for (int x = from.getBlockX(); x <= to.getBlockX(); x++) {
+                long dx = x - centerX;
+                for (int z = from.getBlockZ(); z <= to.getBlockZ(); z++) {
+                    long dz = z - centerZ;
+                    long distanceSquared = dx * dx + dz * dz;
+                    if (distanceSquared <= innerSquared || distanceSquared > outerSquared
+                            || (Math.abs(dx) <= halfSize && Math.abs(dz) <= halfSize)) {
+                        continue;
+                    }
+                    for (int y = from.getBlockY(); y <= to.getBlockY(); y++) {
+                        BlockVector3 position = BlockVector3.at(x, y, z);
+                        if (session.getBlock(position).getBlockType().getMaterial().isAir() && session.setBlock(position, water)) {
+                            written++;
+                        }
+                    }
+                }
+            }
+            return written;
+        });
+        return job.completion().whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().log(Level.WARNING, "Failed to generate ocean border at " + centerX + ", " + centerZ, error);
+                return;
+            }
+            plugin.getLogger().info(String.format("Ocean border at %d, %d: %d block(s) in %.2f ms over %d tick(s)",
+                    centerX, centerZ, job.blocksWritten(), job.workNanos() / 1_000_000.0, job.ticks()));
+        });
+    }
+
+    private record CachedClipboard(Clipboard clipboard, long lastModified, long estimatedBytes) {
+    }
+
+    /**
+     * Outcome of {@link #reloadSchematics()}: the estimated size of every loaded
+     * schematic, and the types whose cached copy was replaced.
+     */
+    public record ReloadResult(Map<IslandType, Long> loaded, Set<IslandType> replaced) {
     }
 
     public MessageUtil getMessageUtil() {
@@ -9,7 +9,6 @@ import net.kyori.adventure.text.event.ClickEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Instant;
@@ -22,26 +21,27 @@ public class TeamService {
     private final IslandService islandService;
     private final DatabaseService databaseService;
     private final MessageUtil messageUtil;
+    private final SchedulerService scheduler;
     private final ConcurrentHashMap<UUID, Invite> pendingInvites;
 
     @Inject
     public TeamService(JavaPlugin plugin, IslandService islandService, DatabaseService databaseService,
-                       MessageUtil messageUtil) {
+                       MessageUtil messageUtil, SchedulerService scheduler) {
         this.plugin = plugin;
         this.islandService = islandService;
         this.databaseService = databaseService;
         this.messageUtil = messageUtil;
+        this.scheduler = scheduler;
         this.pendingInvites = new ConcurrentHashMap<>();
-        loadPendingInvites();
     }
 
-    private void loadPendingInvites() {
+    public void loadPendingInvites() {
         databaseService.getAllInvites().forEach(invite -> pendingInvites.put(invite.invitee(), invite));
     }
 
     public void invitePlayer(Player owner, Player target) {
-        islandService.getIsland(owner).ifPresentOrElse(island -> {
-            if (island.members().size() >= 5) {
+        islandService.withIsland(owner, owner.getUniqueId(), owned -> owned.ifPresentOrElse(island -> {
+            if (island.memberCount() >= 5) {
                 owner.sendMessage(messageUtil.getMessage("invite-island-full"));
                 return;
             }
@@ -62,7 +62,7 @@ public class TeamService {
                     .append(Component.text("[Reject]", NamedTextColor.RED)
                             .clickEvent(ClickEvent.runCommand("/island reject " + owner.getName()))));
             owner.sendMessage(messageUtil.getMessage("invite-sent", Map.of("player", target.getName())));
-        }, () -> owner.sendMessage(messageUtil.getMessage("island-not-found")));
+        }, () -> owner.sendMessage(messageUtil.getMessage("island-not-found"))));
     }
 
     public void acceptInvite(@NotNull Player player, UUID inviter) {
@@ -71,9 +71,11 @@ public class TeamService {
             player.sendMessage(messageUtil.getMessage("invite-no-valid"));
             return;
         }
-        islandService.getIslandByOwner(inviter).ifPresentOrElse(island -> {
-            island.members().add(player.getUniqueId());
-            databaseService.saveIsland(island);
+        islandService.withIsland(player, inviter, invited -> invited.ifPresentOrElse(island -> {
+            if (!islandService.addMember(island, player.getUniqueId())) {
+                player.sendMessage(messageUtil.getMessage("invite-already-member"));
+                return;
+            }
             pendingInvites.remove(player.getUniqueId());
             databaseService.deleteInvite(invite);
             player.sendMessage(messageUtil.getMessage("invite-accepted"));
@@ -85,7 +87,7 @@ public class TeamService {
             pendingInvites.remove(player.getUniqueId());
             databaseService.deleteInvite(invite);
             player.sendMessage(messageUtil.getMessage("invite-island-gone"));
-        });
+        }));
     }
 
     public void rejectInvite(@NotNull Player player, UUID inviter) {
@@ -103,59 +105,43 @@ public class TeamService {
         }
     }
 
-    public boolean kickMember(Player owner, Player target) {
-        return islandService.getIsland(owner).map(island -> {
-            if (!island.members().contains(target.getUniqueId())) {
+    public void kickMember(Player owner, Player target) {
+        islandService.withIsland(owner, owner.getUniqueId(), owned -> owned.ifPresentOrElse(island -> {
+            if (!islandService.removeMember(island, target.getUniqueId())) {
                 owner.sendMessage(messageUtil.getMessage("kick-not-member", Map.of("player", target.getName())));
-                return false;
+                return;
             }
-            island.members().remove(target.getUniqueId());
-            databaseService.saveIsland(island);
             owner.sendMessage(messageUtil.getMessage("kick-success", Map.of("player", target.getName())));
             target.sendMessage(messageUtil.getMessage("kick-success", Map.of("player", owner.getName())));
-            return true;
-        }).orElseGet(() -> {
-            owner.sendMessage(messageUtil.getMessage("island-not-found"));
-            return false;
-        });
+        }, () -> owner.sendMessage(messageUtil.getMessage("island-not-found"))));
     }
 
-    public boolean leaveIsland(@NotNull Player player) {
-        return islandService.getIslandAt(player.getLocation()).map(island -> {
-            if (island.owner().equals(player.getUniqueId())) {
-                player.sendMessage(messageUtil.getMessage("leave-owner"));
-                return false;
-            }
-            if (!island.members().contains(player.getUniqueId())) {
+    public void leaveIsland(@NotNull Player player) {
+        UUID owner = islandService.ownerOf(player.getUniqueId());
+        if (player.getUniqueId().equals(owner)) {
+            player.sendMessage(messageUtil.getMessage("leave-owner"));
+            return;
+        }
+        islandService.withIsland(player, owner, joined -> joined.ifPresentOrElse(island -> {
+            if (!islandService.removeMember(island, player.getUniqueId())) {
                 player.sendMessage(messageUtil.getMessage("leave-not-member"));
-                return false;
+                return;
             }
-            island.members().remove(player.getUniqueId());
-            databaseService.saveIsland(island);
             player.sendMessage(messageUtil.getMessage("leave-success"));
-            Player owner = plugin.getServer().getPlayer(island.owner());
-            if (owner != null) {
-                owner.sendMessage(messageUtil.getMessage("leave-success", Map.of("player", player.getName())));
+            Player islandOwner = plugin.getServer().getPlayer(island.owner());
+            if (islandOwner != null) {
+                islandOwner.sendMessage(messageUtil.getMessage("leave-success", Map.of("player", player.getName())));
             }
-            return true;
-        }).orElseGet(() -> {
-            player.sendMessage(messageUtil.getMessage("leave-not-member"));
-            return false;
-        });
+        }, () -> player.sendMessage(messageUtil.getMessage("leave-not-member"))));
     }
 
     public void startInviteCleanupTask() {
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                pendingInvites.entrySet().removeIf(entry -> {
-                    if (entry.getValue().isExpired()) {
-                        databaseService.deleteInvite(entry.getValue());
-                        return true;
-                    }
-                    return false;
-                });
+        scheduler.runGlobalTimer(() -> pendingInvites.entrySet().removeIf(entry -> {
+            if (entry.getValue().isExpired()) {
+                databaseService.deleteInvite(entry.getValue());
+                return true;
             }
-        }.runTaskTimer(plugin, 0L, 20L * 60); // Run every minute
+            return false;
+        }), 1L, 20L * 60); // Run every minute
     }
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package gg.kite.service;
+
+import com.google.inject.Inject;
+import gg.kite.model.Island;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Teleports players to islands without loading chunks on the server thread. The
+ * chunks within {@code islands.teleport.prewarm-radius} of the destination are
+ * loaded asynchronously first and then held by a plugin chunk ticket for
+ * {@code islands.teleport.ticket-seconds}, so going back to a recently visited
+ * island finds its chunks still loaded.
+ */
+public class TeleportService {
+    private final JavaPlugin plugin;
+    private final SchedulerService scheduler;
+    private final SafeSpawnService safeSpawnService;
+    private final Map<ChunkTicket, Long> tickets;
+    private final int radius;
+    private final long ticketMillis;
+
+    @Inject
+    public TeleportService(@NotNull JavaPlugin plugin, SchedulerService scheduler, SafeSpawnService safeSpawnService) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.safeSpawnService = safeSpawnService;
+        this.tickets = new ConcurrentHashMap<>();
+        this.radius = Math.max(0, plugin.getConfig().getInt("islands.teleport.prewarm-radius", 2));
+        this.ticketMillis = Math.max(0L, plugin.getConfig().getLong("islands.teleport.ticket-seconds", 60L)) * 1000L;
+    }
+
+    public void start() {
+        if (ticketMillis > 0) {
+            scheduler.runGlobalTimer(this::releaseExpired, 20L, 20L);
+        }
+    }
+
+    /**
+     * Teleports the player to the island's safe spawn.
+     */
+    public CompletableFuture<Boolean> teleport(@NotNull Player player, @NotNull Island island) {
+        return safeSpawnService.resolve(island).thenCompose(spawn -> teleport(player, spawn));
+    }
+
+    /**
+     * Loads the chunks around {@code destination}, then teleports the player. The
+     * future completes with {@code false} if the world is not loaded, the player
+     * left or the teleport was refused.
+     */
+    public CompletableFuture<Boolean> teleport(@NotNull Player player, @NotNull Location destination) {
+        if (destination.getWorld() == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        prewarm(destination).whenComplete((ignored, error) -> {
+            if (error != null) {
+                plugin.getLogger().warning("Failed to load chunks around " + destination + ": " + error.getMessage());
+            }
+            scheduler.runFor(player, () -> player.teleportAsync(destination).whenComplete((teleported, failure) ->
+                    result.complete(failure == null && teleported)), () -> result.complete(false));
+        });
+        return result;
+    }
+
+    /**
+     * Loads the chunks around {@code location} asynchronously and holds them for a
+     * while, so a teleport there shortly after finds them loaded.
+     */
+    public CompletableFuture<Void> prewarm(@NotNull Location location) {
+        World world = Objects.requireNonNull(location.getWorld(), "world");
+        int centerX = location.getBlockX() >> 4;
+        int centerZ = location.getBlockZ() >> 4;
+        List<CompletableFuture<?>> loads = new ArrayList<>();
+        for (int chunkX = centerX - radius; chunkX <= centerX + radius; chunkX++) {
+            for (int chunkZ = centerZ - radius; chunkZ <= centerZ + radius; chunkZ++) {
+                loads.add(world.getChunkAtAsync(chunkX, chunkZ).thenAccept(this::hold));
+            }
+        }
+        return CompletableFuture.allOf(loads.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Drops the tickets held on the given chunks now instead of when they expire.
+     */
+    public void release(@NotNull World world, int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                ChunkTicket ticket = new ChunkTicket(world, chunkX, chunkZ);
+                if (tickets.remove(ticket) != null) {
+                    unhold(ticket);
+                }
+            }
+        }
+    }
+
+    // Runs on the thread owning the chunk, which may add tickets to it directly.
+    private void hold(@NotNull Chunk chunk) {
+        if (ticketMillis <= 0) {
+            return;
+        }
+        ChunkTicket ticket = new ChunkTicket(chunk.getWorld(), chunk.getX(), chunk.getZ());
+        if (tickets.put(ticket, System.currentTimeMillis() + ticketMillis) == null) {
+            chunk.addPluginChunkTicket(plugin);
+        }
+    }
+
+    private void releaseExpired() {
+        long now = System.currentTimeMillis();
+        tickets.forEach((ticket, expiresAt) -> {
+            if (expiresAt <= now && tickets.remove(ticket, expiresAt)) {
+                unhold(ticket);
+            }
+        });
+    }
+
+    private void unhold(@NotNull ChunkTicket ticket) {
+        scheduler.runAt(ticket.world(), ticket.chunkX(), ticket.chunkZ(), () -> {
+            // Re-held while this was queued; keep the ticket.
+            if (!tickets.containsKey(ticket)) {
+                ticket.world().removePluginChunkTicket(ticket.chunkX(), ticket.chunkZ(), plugin);
+            }
+        });
+    }
+
+    private record ChunkTicket(World world, int chunkX, int chunkZ) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package gg.kite.service;
+
+import com.google.inject.Inject;
+import gg.kite.model.UpgradeRegistry;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Holds the upgrade registry compiled from the current config.
+ */
+public class UpgradeRegistryService {
+    private final JavaPlugin plugin;
+    private volatile UpgradeRegistry registry;
+
+    @Inject
+    public UpgradeRegistryService(@NotNull JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.registry = UpgradeRegistry.fromConfig(plugin.getConfig(), plugin.getLogger());
+    }
+
+    public @NotNull UpgradeRegistry registry() {
+        return registry;
+    }
+
+    /**
+     * Re-reads the config and recompiles the registry; every island's effect
+     * profile is rebuilt on its next use.
+     */
+    public void reload() {
+        plugin.reloadConfig();
+        registry = UpgradeRegistry.fromConfig(plugin.getConfig(), plugin.getLogger());
+    }
+}
\ No newline at end of file
@@ -1,157 +1,572 @@
 package gg.kite.storage;
 
-import com.zaxxer.hikari.HikariConfig;
-import com.zaxxer.hikari.HikariDataSource;
 import gg.kite.model.Invite;
 import gg.kite.model.Island;
+import gg.kite.model.IslandBounds;
 import gg.kite.model.IslandType;
+import gg.kite.model.PooledIsland;
+import gg.kite.model.UpgradeType;
 import gg.kite.util.MessageUtil;
 import jakarta.inject.Inject;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.sqlite.SQLiteConfig;
 
 import java.io.File;
 import java.sql.*;
 import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * SQLite storage with a single writer. Every write runs in submission order on one
+ * dedicated connection, so writers never contend for the database lock, while a
+ * small read-only pool serves loads concurrently thanks to WAL journaling. Both
+ * sides keep their prepared statements for the lifetime of their connection.
+ */
 public class DatabaseService {
+    private static final long READER_TIMEOUT_SECONDS = 30L;
+
     private final JavaPlugin plugin;
     private final MessageUtil messageUtil;
-    private final HikariDataSource dataSource;
+    private final ExecutorService writer;
+    private final Connection writerConnection;
+    private final Map<String, PreparedStatement> writerStatements;
+    private final List<Reader> readers;
+    private final BlockingQueue<Reader> idleReaders;
 
     @Inject
     public DatabaseService(@NotNull JavaPlugin plugin, MessageUtil messageUtil) {
         this.plugin = plugin;
         this.messageUtil = messageUtil;
-        HikariConfig config = new HikariConfig();
-        config.setJdbcUrl("jdbc:sqlite:" + new File(plugin.getDataFolder(),
-                plugin.getConfig().getString("database.file", "database.db")).getAbsolutePath());
-        config.setDriverClassName("org.sqlite.JDBC");
-        config.setMaximumPoolSize(10);
-        this.dataSource = new HikariDataSource(config);
+        String jdbcUrl = "jdbc:sqlite:" + new File(plugin.getDataFolder(),
+                plugin.getConfig().getString("database.file", "database.db")).getAbsolutePath();
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BeachIslands-DB-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.writerStatements = new HashMap<>();
+
+        SQLiteConfig writerConfig = createSqliteConfig();
+        writerConfig.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        writerConfig.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        writerConfig.setTempStore(SQLiteConfig.TempStore.MEMORY);
+        try {
+            this.writerConnection = writerConfig.createConnection(jdbcUrl);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to open SQLite database " + jdbcUrl, e);
+        }
+
+        SQLiteConfig readerConfig = createSqliteConfig();
+        readerConfig.setReadOnly(true);
+        int poolSize = Math.max(1, plugin.getConfig().getInt("database.read-pool-size", 2));
+        this.readers = new ArrayList<>(poolSize);
+        this.idleReaders = new ArrayBlockingQueue<>(poolSize);
+        try {
+            for (int i = 0; i < poolSize; i++) {
+                Reader reader = new Reader(readerConfig.createConnection(jdbcUrl));
+                readers.add(reader);
+                idleReaders.add(reader);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to open SQLite database " + jdbcUrl + " for reading", e);
+        }
+    }
+
+    private @NotNull SQLiteConfig createSqliteConfig() {
+        SQLiteConfig config = new SQLiteConfig();
+        // A negative cache_size is measured in KiB rather than pages.
+        config.setCacheSize(-Math.max(256, plugin.getConfig().getInt("database.cache-size-kib", 16384)));
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE,
+                String.valueOf(Math.max(0L, plugin.getConfig().getLong("database.mmap-size-mb", 256L)) * 1024 * 1024));
+        config.setBusyTimeout(plugin.getConfig().getInt("database.busy-timeout-millis", 5000));
+        return config;
+    }
+
+    private <T> CompletableFuture<T> write(@NotNull SqlTask<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.run(writerConnection);
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, writer);
+    }
+
+    private @NotNull PreparedStatement writerStatement(@NotNull String sql) throws SQLException {
+        PreparedStatement stmt = writerStatements.get(sql);
+        if (stmt == null) {
+            stmt = writerConnection.prepareStatement(sql);
+            writerStatements.put(sql, stmt);
+        }
+        return stmt;
+    }
+
+    /**
+     * Takes an idle reader from the pool, waiting for one to be returned if all are
+     * busy. Closing the reader returns it.
+     */
+    private @NotNull Reader borrowReader() throws SQLException {
+        Reader reader;
+        try {
+            reader = idleReaders.poll(READER_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database reader", e);
+        }
+        if (reader == null) {
+            throw new SQLException("No database reader became available within " + READER_TIMEOUT_SECONDS + " seconds");
+        }
+        return reader;
     }
 
     public void initialize() {
-        try (Connection conn = dataSource.getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS islands (
-                    owner TEXT PRIMARY KEY,
-                    type TEXT NOT NULL,
-                    world TEXT NOT NULL,
-                    x REAL NOT NULL,
-                    y REAL NOT NULL,
-                    z REAL NOT NULL,
-                    border_size INTEGER NOT NULL,
-                    upgrades TEXT NOT NULL,
-                    members TEXT NOT NULL
-                )
-                """);
-            stmt.execute("""
-                CREATE TABLE IF NOT EXISTS invites (
-                    inviter TEXT NOT NULL,
-                    invitee TEXT PRIMARY KEY,
-                    expiration INTEGER NOT NULL
-                )
-                """);
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to initialize database: " + e.getMessage());
+        try {
+            write(conn -> {
+                new SchemaMigrator(plugin.getLogger()).migrate(conn);
+                return null;
+            }).join();
+        } catch (CompletionException e) {
+            plugin.getLogger().severe("Failed to initialize database: " + e.getCause().getMessage());
         }
     }
 
     public void shutdown() {
-        dataSource.close();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Database writer did not drain within 30 seconds.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            for (PreparedStatement stmt : writerStatements.values()) {
+                stmt.close();
+            }
+            writerConnection.close();
+        } catch (SQLException e) {
+            plugin.getLogger().warning("Failed to close database writer: " + e.getMessage());
+        }
+        for (Reader reader : readers) {
+            try {
+                reader.shutdown();
+            } catch (SQLException e) {
+                plugin.getLogger().warning("Failed to close database reader: " + e.getMessage());
+            }
+        }
+    }
+
+    public void checkpointWal() {
+        write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("PRAGMA wal_checkpoint(PASSIVE)");
+            }
+            return null;
+        }).exceptionally(e -> {
+            plugin.getLogger().warning("WAL checkpoint failed: " + e.getCause().getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Writes {@code changes} in one transaction, rolling it back if any of them fails.
+     *
+     * @throws CompletionException with the cause of the rollback
+     */
+    void writeIslandChanges(@NotNull List<IslandChange> changes) {
+        write(conn -> {
+            conn.setAutoCommit(false);
+            try {
+                for (IslandChange change : changes) {
+                    writeIslandChange(change);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            return null;
+        }).join();
     }
 
-    public void saveIsland(@NotNull Island island) {
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("""
-                 INSERT OR REPLACE INTO islands (owner, type, world, x, y, z, border_size, upgrades, members)
-                 VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
-                 """)) {
-            stmt.setString(1, island.owner().toString());
+    private void writeIslandChange(@NotNull IslandChange change) throws SQLException {
+        byte[] owner = UuidCodec.toBytes(change.owner());
+        Island island = change.island();
+        if (change.deleted() || island == null) {
+            for (String sql : List.of("DELETE FROM islands WHERE owner = ?",
+                    "DELETE FROM island_members WHERE owner = ?",
+                    "DELETE FROM island_upgrades WHERE owner = ?")) {
+                PreparedStatement stmt = writerStatement(sql);
+                stmt.setBytes(1, owner);
+                stmt.executeUpdate();
+            }
+            return;
+        }
+        if (change.fullRewrite() || change.rowChanged()) {
+            PreparedStatement stmt = writerStatement("""
+                    INSERT INTO islands (owner, type, world, x, y, z, border_size)
+                    VALUES (?, ?, ?, ?, ?, ?, ?)
+                    ON CONFLICT (owner) DO UPDATE SET type = excluded.type, world = excluded.world,
+                        x = excluded.x, y = excluded.y, z = excluded.z, border_size = excluded.border_size
+                    """);
+            stmt.setBytes(1, owner);
             stmt.setString(2, island.type().name());
-            stmt.setString(3, island.center().getWorld().getName());
-            stmt.setDouble(4, island.center().getX());
-            stmt.setDouble(5, island.center().getY());
-            stmt.setDouble(6, island.center().getZ());
+            World world = island.world();
+            if (world == null) {
+                throw new SQLException("World " + island.worldId() + " of island " + change.owner() + " is not loaded");
+            }
+            stmt.setString(3, world.getName());
+            stmt.setDouble(4, island.x());
+            stmt.setDouble(5, island.y());
+            stmt.setDouble(6, island.z());
             stmt.setInt(7, island.borderSize());
-            stmt.setString(8, serializeUpgrades(island.upgrades()));
-            stmt.setString(9, serializeMembers(island.members()));
             stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to save island: " + e.getMessage());
         }
-    }
-
-    public void deleteIsland(@NotNull Island island) {
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("DELETE FROM islands WHERE owner = ?")) {
-            stmt.setString(1, island.owner().toString());
+        Collection<UUID> addedMembers = change.addedMembers();
+        Collection<UpgradeType> changedUpgrades = change.changedUpgrades();
+        if (change.fullRewrite()) {
+            for (String sql : List.of("DELETE FROM island_members WHERE owner = ?",
+                    "DELETE FROM island_upgrades WHERE owner = ?")) {
+                PreparedStatement stmt = writerStatement(sql);
+                stmt.setBytes(1, owner);
+                stmt.executeUpdate();
+            }
+            addedMembers = island.members();
+            changedUpgrades = island.upgrades().keySet();
+        }
+        if (!addedMembers.isEmpty()) {
+            PreparedStatement stmt = writerStatement("INSERT OR IGNORE INTO island_members (owner, member) VALUES (?, ?)");
+            for (UUID member : addedMembers) {
+                stmt.setBytes(1, owner);
+                stmt.setBytes(2, UuidCodec.toBytes(member));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        if (!change.removedMembers().isEmpty()) {
+            PreparedStatement stmt = writerStatement("DELETE FROM island_members WHERE owner = ? AND member = ?");
+            for (UUID member : change.removedMembers()) {
+                stmt.setBytes(1, owner);
+                stmt.setBytes(2, UuidCodec.toBytes(member));
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        for (UpgradeType upgrade : changedUpgrades) {
+            int level = island.upgradeLevel(upgrade);
+            PreparedStatement stmt;
+            if (level == 0) {
+                stmt = writerStatement("DELETE FROM island_upgrades WHERE owner = ? AND upgrade = ?");
+            } else {
+                stmt = writerStatement("""
+                        INSERT INTO island_upgrades (owner, upgrade, level) VALUES (?, ?, ?)
+                        ON CONFLICT (owner, upgrade) DO UPDATE SET level = excluded.level
+                        """);
+                stmt.setInt(3, level);
+            }
+            stmt.setBytes(1, owner);
+            stmt.setString(2, upgrade.name());
             stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to delete island: " + e.getMessage());
         }
     }
 
     public List<Island> getAllIslands() {
         List<Island> islands = new ArrayList<>();
-        try (Connection conn = dataSource.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT * FROM islands")) {
+        try (Reader reader = borrowReader()) {
+            Map<UUID, Set<UUID>> members = new HashMap<>();
+            try (Statement stmt = reader.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT owner, member FROM island_members")) {
+                while (rs.next()) {
+                    members.computeIfAbsent(UuidCodec.fromBytes(rs.getBytes("owner")), owner -> new HashSet<>())
+                            .add(UuidCodec.fromBytes(rs.getBytes("member")));
+                }
+            }
+            Map<UUID, int[]> upgrades = new HashMap<>();
+            try (Statement stmt = reader.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT owner, upgrade, level FROM island_upgrades")) {
+                while (rs.next()) {
+                    readUpgrade(rs, upgrades.computeIfAbsent(UuidCodec.fromBytes(rs.getBytes("owner")),
+                            owner -> new int[UpgradeType.values().length]));
+                }
+            }
+            try (Statement stmt = reader.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT * FROM islands")) {
+                while (rs.next()) {
+                    UUID owner = UuidCodec.fromBytes(rs.getBytes("owner"));
+                    Island island = readIsland(rs, owner, upgrades.getOrDefault(owner, new int[0]),
+                            members.getOrDefault(owner, Set.of()));
+                    if (island != null) {
+                        islands.add(island);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to load islands: " + e.getMessage());
+        }
+        return islands;
+    }
+
+    public List<IslandBounds> getAllIslandBounds() {
+        List<IslandBounds> bounds = new ArrayList<>();
+        Map<String, World> worlds = new HashMap<>();
+        try (Reader reader = borrowReader();
+             Statement stmt = reader.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT owner, world, x, z, border_size FROM islands")) {
             while (rs.next()) {
-                UUID owner = UUID.fromString(rs.getString("owner"));
-                IslandType type = IslandType.valueOf(rs.getString("type"));
-                World world = plugin.getServer().getWorld(rs.getString("world"));
+                UUID owner = UuidCodec.fromBytes(rs.getBytes("owner"));
+                World world = worlds.computeIfAbsent(rs.getString("world"), plugin.getServer()::getWorld);
                 if (world == null) {
                     plugin.getLogger().warning("World not found for island owned by " + owner);
                     continue;
                 }
-                Location center = new Location(world, rs.getDouble("x"), rs.getDouble("y"), rs.getDouble("z"));
-                int borderSize = rs.getInt("border_size");
-                Map<String, Integer> upgrades = deserializeUpgrades(rs.getString("upgrades"));
-                Set<UUID> members = deserializeMembers(rs.getString("members"));
-                islands.add(new Island(owner, type, center, borderSize, upgrades, members));
+                bounds.add(IslandBounds.of(owner, world.getUID(), rs.getDouble("x"), rs.getDouble("z"),
+                        Math.max(Island.BASE_BORDER_SIZE, rs.getInt("border_size"))));
             }
         } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to load islands: " + e.getMessage());
+            plugin.getLogger().severe("Failed to load island positions: " + e.getMessage());
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns the owner of every member's island, keyed by member.
+     */
+    public Map<UUID, UUID> getAllMemberships() {
+        Map<UUID, UUID> owners = new HashMap<>();
+        try (Reader reader = borrowReader();
+             Statement stmt = reader.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT owner, member FROM island_members")) {
+            while (rs.next()) {
+                owners.put(UuidCodec.fromBytes(rs.getBytes("member")), UuidCodec.fromBytes(rs.getBytes("owner")));
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to load island members: " + e.getMessage());
+        }
+        return owners;
+    }
+
+    public Optional<Island> getIsland(UUID owner) {
+        byte[] key = UuidCodec.toBytes(owner);
+        try (Reader reader = borrowReader()) {
+            Set<UUID> members = new HashSet<>();
+            PreparedStatement memberStmt = reader.statement("SELECT member FROM island_members WHERE owner = ?");
+            memberStmt.setBytes(1, key);
+            try (ResultSet rs = memberStmt.executeQuery()) {
+                while (rs.next()) {
+                    members.add(UuidCodec.fromBytes(rs.getBytes("member")));
+                }
+            }
+            int[] upgrades = new int[UpgradeType.values().length];
+            PreparedStatement upgradeStmt = reader.statement("SELECT upgrade, level FROM island_upgrades WHERE owner = ?");
+            upgradeStmt.setBytes(1, key);
+            try (ResultSet rs = upgradeStmt.executeQuery()) {
+                while (rs.next()) {
+                    readUpgrade(rs, upgrades);
+                }
+            }
+            PreparedStatement islandStmt = reader.statement("SELECT * FROM islands WHERE owner = ?");
+            islandStmt.setBytes(1, key);
+            try (ResultSet rs = islandStmt.executeQuery()) {
+                return rs.next() ? Optional.ofNullable(readIsland(rs, owner, upgrades, members)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to load island of " + owner + ": " + e.getMessage());
+            return Optional.empty();
         }
-        return islands;
+    }
+
+    public Optional<UUID> getIslandOwnerOfMember(UUID member) {
+        try (Reader reader = borrowReader()) {
+            PreparedStatement stmt = reader.statement("SELECT owner FROM island_members WHERE member = ? LIMIT 1");
+            stmt.setBytes(1, UuidCodec.toBytes(member));
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? Optional.of(UuidCodec.fromBytes(rs.getBytes("owner"))) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to look up island of member " + member + ": " + e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void readUpgrade(@NotNull ResultSet rs, int @NotNull [] levels) throws SQLException {
+        String name = rs.getString("upgrade");
+        try {
+            levels[UpgradeType.valueOf(name).ordinal()] = rs.getInt("level");
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Ignoring unknown upgrade " + name);
+        }
+    }
+
+    private @Nullable Island readIsland(@NotNull ResultSet rs, UUID owner, int @NotNull [] upgrades,
+                                        @NotNull Set<UUID> members) throws SQLException {
+        IslandType type = IslandType.valueOf(rs.getString("type"));
+        World world = plugin.getServer().getWorld(rs.getString("world"));
+        if (world == null) {
+            plugin.getLogger().warning("World not found for island owned by " + owner);
+            return null;
+        }
+        return new Island(owner, type, world.getUID(), rs.getDouble("x"), rs.getDouble("y"), rs.getDouble("z"),
+                rs.getInt("border_size"), upgrades, Island.packMembers(members));
+    }
+
+    public List<PooledIsland> getPooledIslands() {
+        List<PooledIsland> pooled = new ArrayList<>();
+        try (Reader reader = borrowReader();
+             Statement stmt = reader.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM island_pool ORDER BY id")) {
+            while (rs.next()) {
+                World world = plugin.getServer().getWorld(rs.getString("world"));
+                IslandType type;
+                try {
+                    type = IslandType.valueOf(rs.getString("type"));
+                } catch (IllegalArgumentException e) {
+                    type = null;
+                }
+                if (world == null || type == null) {
+                    plugin.getLogger().warning("Skipping unusable pooled island #" + rs.getLong("id"));
+                    continue;
+                }
+                pooled.add(new PooledIsland(rs.getLong("id"), type, world.getUID(),
+                        rs.getDouble("x"), rs.getDouble("y"), rs.getDouble("z")));
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to load island pool: " + e.getMessage());
+        }
+        return pooled;
+    }
+
+    public CompletableFuture<PooledIsland> savePooledIsland(IslandType type, @NotNull Location center) {
+        World world = Objects.requireNonNull(center.getWorld(), "world");
+        String worldName = world.getName();
+        UUID worldId = world.getUID();
+        double x = center.getX();
+        double y = center.getY();
+        double z = center.getZ();
+        return write(conn -> {
+            PreparedStatement stmt = writerStatement(
+                    "INSERT INTO island_pool (type, world, x, y, z) VALUES (?, ?, ?, ?, ?) RETURNING id");
+            stmt.setString(1, type.name());
+            stmt.setString(2, worldName);
+            stmt.setDouble(3, x);
+            stmt.setDouble(4, y);
+            stmt.setDouble(5, z);
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("No id returned for pooled island");
+                }
+                return new PooledIsland(rs.getLong(1), type, worldId, x, y, z);
+            }
+        });
+    }
+
+    public void deletePooledIsland(long id) {
+        write(conn -> {
+            PreparedStatement stmt = writerStatement("DELETE FROM island_pool WHERE id = ?");
+            stmt.setLong(1, id);
+            return stmt.executeUpdate();
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Failed to delete pooled island #" + id + ": " + e.getCause().getMessage());
+            return 0;
+        });
+    }
+
+    public BitSet getIslandSlots(String world) {
+        BitSet slots = new BitSet();
+        try (Reader reader = borrowReader()) {
+            PreparedStatement stmt = reader.statement("SELECT slot FROM island_slots WHERE world = ?");
+            stmt.setString(1, world);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    slots.set(rs.getInt("slot"));
+                }
+            }
+        } catch (SQLException e) {
+            plugin.getLogger().severe("Failed to load island slots of " + world + ": " + e.getMessage());
+        }
+        return slots;
+    }
+
+    public void updateIslandSlots(String world, @NotNull BitSet added, @NotNull BitSet removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        BitSet toAdd = (BitSet) added.clone();
+        BitSet toRemove = (BitSet) removed.clone();
+        write(conn -> {
+            conn.setAutoCommit(false);
+            try {
+                PreparedStatement insert = writerStatement("INSERT OR IGNORE INTO island_slots (world, slot) VALUES (?, ?)");
+                for (int slot = toAdd.nextSetBit(0); slot >= 0; slot = toAdd.nextSetBit(slot + 1)) {
+                    insert.setString(1, world);
+                    insert.setInt(2, slot);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                PreparedStatement delete = writerStatement("DELETE FROM island_slots WHERE world = ? AND slot = ?");
+                for (int slot = toRemove.nextSetBit(0); slot >= 0; slot = toRemove.nextSetBit(slot + 1)) {
+                    delete.setString(1, world);
+                    delete.setInt(2, slot);
+                    delete.addBatch();
+                }
+                delete.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            return null;
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Failed to update island slots of " + world + ": " + e.getCause().getMessage());
+            return null;
+        });
     }
 
     public void saveInvite(@NotNull Invite invite) {
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("""
-                 INSERT OR REPLACE INTO invites (inviter, invitee, expiration)
-                 VALUES (?, ?, ?)
-                 """)) {
+        write(conn -> {
+            PreparedStatement stmt = writerStatement("""
+                    INSERT OR REPLACE INTO invites (inviter, invitee, expiration)
+                    VALUES (?, ?, ?)
+                    """);
             stmt.setString(1, invite.inviter().toString());
             stmt.setString(2, invite.invitee().toString());
             stmt.setLong(3, invite.expiration().getEpochSecond());
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to save invite: " + e.getMessage());
-        }
+            return stmt.executeUpdate();
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Failed to save invite: " + e.getCause().getMessage());
+            return 0;
+        });
     }
 
     public void deleteInvite(@NotNull Invite invite) {
-        try (Connection conn = dataSource.getConnection();
-             PreparedStatement stmt = conn.prepareStatement("DELETE FROM invites WHERE invitee = ?")) {
+        write(conn -> {
+            PreparedStatement stmt = writerStatement("DELETE FROM invites WHERE invitee = ?");
             stmt.setString(1, invite.invitee().toString());
-            stmt.executeUpdate();
-        } catch (SQLException e) {
-            plugin.getLogger().severe("Failed to delete invite: " + e.getMessage());
-        }
+            return stmt.executeUpdate();
+        }).exceptionally(e -> {
+            plugin.getLogger().severe("Failed to delete invite: " + e.getCause().getMessage());
+            return 0;
+        });
     }
 
     public List<Invite> getAllInvites() {
         List<Invite> invites = new ArrayList<>();
-        try (Connection conn = dataSource.getConnection();
-             Statement stmt = conn.createStatement();
+        try (Reader reader = borrowReader();
+             Statement stmt = reader.createStatement();
              ResultSet rs = stmt.executeQuery("SELECT * FROM invites")) {
             while (rs.next()) {
                 UUID inviter = UUID.fromString(rs.getString("inviter"));
@@ -165,44 +580,50 @@ public class DatabaseService {
         return invites;
     }
 
-    private String serializeUpgrades(@NotNull Map<String, Integer> upgrades) {
-        return upgrades.entrySet().stream()
-                .map(entry -> entry.getKey() + ":" + entry.getValue())
-                .collect(Collectors.joining(";"));
+    @FunctionalInterface
+    private interface SqlTask<T> {
+        T run(Connection connection) throws SQLException;
     }
 
-    private @NotNull Map<String, Integer> deserializeUpgrades(String serialized) {
-        Map<String, Integer> upgrades = new HashMap<>();
-        if (serialized != null && !serialized.isEmpty()) {
-            for (String entry : serialized.split(";")) {
-                String[] parts = entry.split(":");
-                if (parts.length == 2) {
-                    try {
-                        upgrades.put(parts[0], Integer.parseInt(parts[1]));
-                    } catch (NumberFormatException ignored) {
-                    }
-                }
+    /**
+     * A read-only connection of the pool together with the statements prepared on
+     * it. Closing it returns it to the pool; the connection stays open.
+     */
+    private final class Reader implements AutoCloseable {
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private Reader(@NotNull Connection connection) {
+            this.connection = connection;
+        }
+
+        private @NotNull Statement createStatement() throws SQLException {
+            return connection.createStatement();
+        }
+
+        /**
+         * Returns the cached statement for {@code sql}, preparing it on first use.
+         * Callers close its result sets but never the statement itself.
+         */
+        private @NotNull PreparedStatement statement(@NotNull String sql) throws SQLException {
+            PreparedStatement stmt = statements.get(sql);
+            if (stmt == null) {
+                stmt = connection.prepareStatement(sql);
+                statements.put(sql, stmt);
             }
+            return stmt;
         }
-        return upgrades;
-    }
 
-    private String serializeMembers(@NotNull Set<UUID> members) {
-        return members.stream()
-                .map(UUID::toString)
-                .collect(Collectors.joining(";"));
-    }
+        @Override
+        public void close() {
+            idleReaders.add(this);
+        }
 
-    private @NotNull Set<UUID> deserializeMembers(String serialized) {
-        Set<UUID> members = new HashSet<>();
-        if (serialized != null && !serialized.isEmpty()) {
-            for (String uuid : serialized.split(";")) {
-                try {
-                    members.add(UUID.fromString(uuid));
-                } catch (IllegalArgumentException ignored) {
-                }
+        private void shutdown() throws SQLException {
+            for (PreparedStatement stmt : statements.values()) {
+                stmt.close();
             }
+            connection.close();
         }
-        return members;
     }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package gg.kite.storage;
+
+import gg.kite.model.Island;
+import gg.kite.model.UpgradeType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Accumulated, not yet persisted changes to one island. Member and upgrade changes
+ * are tracked individually so they can be written as single rows; a full rewrite
+ * is only used for new or reset islands.
+ */
+final class IslandChange {
+    private final UUID owner;
+    private final long queuedAt;
+    private final Set<UUID> addedMembers = new HashSet<>();
+    private final Set<UUID> removedMembers = new HashSet<>();
+    private final Set<UpgradeType> changedUpgrades = EnumSet.noneOf(UpgradeType.class);
+    private @Nullable Island island;
+    private boolean deleted;
+    private boolean fullRewrite;
+    private boolean rowChanged;
+
+    IslandChange(UUID owner, long queuedAt) {
+        this.owner = owner;
+        this.queuedAt = queuedAt;
+    }
+
+    void rewrite(@NotNull Island snapshot) {
+        keepNewest(snapshot);
+        deleted = false;
+        fullRewrite = true;
+        addedMembers.clear();
+        removedMembers.clear();
+        changedUpgrades.clear();
+    }
+
+    void updateRow(@NotNull Island snapshot) {
+        keepNewest(snapshot);
+        rowChanged = true;
+    }
+
+    void addMember(@NotNull Island snapshot, UUID member) {
+        keepNewest(snapshot);
+        if (!removedMembers.remove(member)) {
+            addedMembers.add(member);
+        }
+    }
+
+    void removeMember(@NotNull Island snapshot, UUID member) {
+        keepNewest(snapshot);
+        if (!addedMembers.remove(member)) {
+            removedMembers.add(member);
+        }
+    }
+
+    void changeUpgrade(@NotNull Island snapshot, UpgradeType upgrade) {
+        keepNewest(snapshot);
+        changedUpgrades.add(upgrade);
+    }
+
+    /**
+     * Snapshots can be marked out of order when two threads publish updates at
+     * once, so only a newer version replaces the one already queued.
+     */
+    private void keepNewest(@NotNull Island snapshot) {
+        if (island == null || snapshot.version() >= island.version()) {
+            island = snapshot;
+        }
+    }
+
+    void delete() {
+        island = null;
+        deleted = true;
+        fullRewrite = false;
+        rowChanged = false;
+        addedMembers.clear();
+        removedMembers.clear();
+        changedUpgrades.clear();
+    }
+
+    UUID owner() {
+        return owner;
+    }
+
+    long queuedAt() {
+        return queuedAt;
+    }
+
+    @Nullable Island island() {
+        return island;
+    }
+
+    boolean deleted() {
+        return deleted;
+    }
+
+    boolean fullRewrite() {
+        return fullRewrite;
+    }
+
+    boolean rowChanged() {
+        return rowChanged;
+    }
+
+    Set<UUID> addedMembers() {
+        return addedMembers;
+    }
+
+    Set<UUID> removedMembers() {
+        return removedMembers;
+    }
+
+    Set<UpgradeType> changedUpgrades() {
+        return changedUpgrades;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,251 @@
+package gg.kite.storage;
+
+import gg.kite.model.Island;
+import gg.kite.model.UpgradeType;
+import jakarta.inject.Inject;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind buffer for island changes. Mutations are accumulated per owner; a
+ * background thread writes them out in batches, so repeated saves of the same island
+ * collapse into one set of row writes. The pending map doubles as the set of islands
+ * changed since the last checkpoint. A batch that fails is split until the failing
+ * island is isolated. Its change stays queued and is retried with exponential
+ * backoff; after {@code database.write-behind.max-attempts} failures it is turned
+ * into a full rewrite of the island and the failure is logged as severe, once.
+ */
+public class IslandWriteQueue {
+    private final JavaPlugin plugin;
+    private final DatabaseService databaseService;
+    private final Map<UUID, IslandChange> pending;
+    private final Set<UUID> inFlight;
+    private final Map<UUID, Retry> retries;
+    private final ScheduledExecutorService executor;
+    private final Object flushLock = new Object();
+    private final long maxStalenessMillis;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryDelayMillis;
+    private final long maxRetryDelayMillis;
+    private final long checkpointIntervalSeconds;
+
+    @Inject
+    public IslandWriteQueue(@NotNull JavaPlugin plugin, DatabaseService databaseService) {
+        this.plugin = plugin;
+        this.databaseService = databaseService;
+        this.pending = new ConcurrentHashMap<>();
+        this.inFlight = ConcurrentHashMap.newKeySet();
+        this.retries = new ConcurrentHashMap<>();
+        this.maxStalenessMillis = Math.max(100L, plugin.getConfig().getLong("database.write-behind.max-staleness-millis", 5000L));
+        this.batchSize = Math.max(1, plugin.getConfig().getInt("database.write-behind.batch-size", 500));
+        this.maxAttempts = Math.max(1, plugin.getConfig().getInt("database.write-behind.max-attempts", 5));
+        this.retryDelayMillis = Math.min(1000L, maxStalenessMillis / 2);
+        this.maxRetryDelayMillis = Math.max(retryDelayMillis,
+                plugin.getConfig().getLong("database.write-behind.max-retry-delay-seconds", 60L) * 1000L);
+        this.checkpointIntervalSeconds = plugin.getConfig().getLong("database.checkpoint-interval-seconds", 60L);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "BeachIslands-WriteBehind");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        executor.scheduleWithFixedDelay(this::flushIfDue, retryDelayMillis, retryDelayMillis, TimeUnit.MILLISECONDS);
+        if (checkpointIntervalSeconds > 0) {
+            executor.scheduleWithFixedDelay(this::checkpoint, checkpointIntervalSeconds, checkpointIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    public void markDirty(@NotNull Island island) {
+        mutate(island.owner(), change -> change.rewrite(island));
+    }
+
+    public void markRowChanged(@NotNull Island island) {
+        mutate(island.owner(), change -> change.updateRow(island));
+    }
+
+    public void markMemberAdded(@NotNull Island island, UUID member) {
+        mutate(island.owner(), change -> change.addMember(island, member));
+    }
+
+    public void markMemberRemoved(@NotNull Island island, UUID member) {
+        mutate(island.owner(), change -> change.removeMember(island, member));
+    }
+
+    public void markUpgradeChanged(@NotNull Island island, UpgradeType upgrade) {
+        mutate(island.owner(), change -> change.changeUpgrade(island, upgrade));
+    }
+
+    public void markDeleted(UUID owner) {
+        mutate(owner, IslandChange::delete);
+    }
+
+    private void mutate(UUID owner, @NotNull Consumer<IslandChange> mutation) {
+        pending.compute(owner, (key, change) -> {
+            IslandChange target = change == null ? new IslandChange(key, System.currentTimeMillis()) : change;
+            mutation.accept(target);
+            return target;
+        });
+    }
+
+    public boolean hasPending(UUID owner) {
+        return pending.containsKey(owner) || inFlight.contains(owner);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Write-behind flush did not finish in time, draining on shutdown thread.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        if (!pending.isEmpty()) {
+            plugin.getLogger().severe("Shutting down with " + pending.size() + " unsaved island change(s), owners: "
+                    + String.join(", ", pending.keySet().stream().map(UUID::toString).toList()));
+        }
+    }
+
+    private void flushIfDue() {
+        if (pending.size() >= batchSize) {
+            flush(false);
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long deadline = now - maxStalenessMillis;
+        for (IslandChange change : pending.values()) {
+            if (change.queuedAt() <= deadline && !isBackingOff(change.owner(), now)) {
+                flush(false);
+                return;
+            }
+        }
+    }
+
+    private boolean isBackingOff(UUID owner, long now) {
+        Retry retry = retries.get(owner);
+        return retry != null && retry.notBefore() > now;
+    }
+
+    private void checkpoint() {
+        int written = flush(false);
+        databaseService.checkpointWal();
+        if (written > 0) {
+            plugin.getLogger().fine("Checkpoint wrote " + written + " island change(s).");
+        }
+    }
+
+    /**
+     * Writes every pending change now, including those still backing off after a
+     * failed write.
+     */
+    public int flush() {
+        return flush(true);
+    }
+
+    private int flush(boolean force) {
+        synchronized (flushLock) {
+            int written = 0;
+            long now = System.currentTimeMillis();
+            List<IslandChange> batch = new ArrayList<>();
+            for (UUID owner : pending.keySet()) {
+                if (!force && isBackingOff(owner, now)) {
+                    continue;
+                }
+                // Mark in flight before taking the change so hasPending never sees a gap.
+                inFlight.add(owner);
+                IslandChange change = pending.remove(owner);
+                if (change == null) {
+                    inFlight.remove(owner);
+                    continue;
+                }
+                batch.add(change);
+                if (batch.size() >= batchSize) {
+                    written += writeBatch(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                written += writeBatch(batch);
+            }
+            return written;
+        }
+    }
+
+    private int writeBatch(@NotNull List<IslandChange> batch) {
+        try {
+            databaseService.writeIslandChanges(batch);
+        } catch (CompletionException e) {
+            if (batch.size() > 1) {
+                // One bad island rolls back the whole transaction; split the batch so the
+                // others still get written and the failing change ends up on its own.
+                int half = batch.size() / 2;
+                return writeBatch(batch.subList(0, half)) + writeBatch(batch.subList(half, batch.size()));
+            }
+            requeue(batch.get(0), e.getCause());
+            return 0;
+        }
+        for (IslandChange change : batch) {
+            Retry retry = retries.remove(change.owner());
+            if (retry != null && retry.attempts() >= maxAttempts) {
+                plugin.getLogger().info("Wrote island " + change.owner() + " after " + retry.attempts() + " failed attempt(s).");
+            }
+            inFlight.remove(change.owner());
+        }
+        return batch.size();
+    }
+
+    /**
+     * Puts back a change whose write failed, to be retried once its backoff has
+     * passed. If the island changed again in the meantime, its latest snapshot already
+     * covers the failed change, so it is rewritten in full; so is a change that kept
+     * failing {@code database.write-behind.max-attempts} times, in case its partial
+     * row writes were the problem.
+     */
+    private void requeue(@NotNull IslandChange failed, @NotNull Throwable cause) {
+        Retry previous = retries.get(failed.owner());
+        int attempts = previous == null ? 1 : previous.attempts() + 1;
+        long delay = Math.min(maxRetryDelayMillis, retryDelayMillis << Math.min(attempts - 1, 20));
+        retries.put(failed.owner(), new Retry(attempts, System.currentTimeMillis() + delay));
+        boolean escalate = attempts == maxAttempts;
+        if (escalate) {
+            plugin.getLogger().severe("Failed to write island " + failed.owner() + " " + attempts
+                    + " times, retrying it as a full rewrite every " + maxRetryDelayMillis / 1000 + "s at most: "
+                    + cause.getMessage());
+        } else if (attempts < maxAttempts) {
+            plugin.getLogger().warning("Failed to write island " + failed.owner() + " (attempt " + attempts
+                    + "), retrying in " + delay + " ms: " + cause.getMessage());
+        }
+        pending.compute(failed.owner(), (owner, newer) -> {
+            IslandChange target = newer == null ? failed : newer;
+            Island latest = target.island();
+            if ((newer != null || attempts >= maxAttempts) && !target.deleted() && latest != null) {
+                target.rewrite(latest);
+            }
+            return target;
+        });
+        inFlight.remove(failed.owner());
+    }
+
+    private record Retry(int attempts, long notBefore) {
+    }
+}
\ No newline at end of file
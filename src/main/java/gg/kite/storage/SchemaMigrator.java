@@ -0,0 +1,214 @@
+package gg.kite.storage;
+
+import gg.kite.model.Island;
+import gg.kite.model.UpgradeType;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.*;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Brings the database up to {@link #CURRENT_VERSION}, tracked through
+ * {@code PRAGMA user_version}. Each step runs in its own transaction.
+ */
+public class SchemaMigrator {
+    public static final int CURRENT_VERSION = 4;
+
+    private final Logger logger;
+    private final List<Step> steps = List.of(this::createLegacySchema, this::normalizeIslands, this::createIslandPool,
+            this::createIslandSlots);
+
+    public SchemaMigrator(@NotNull Logger logger) {
+        this.logger = logger;
+    }
+
+    public void migrate(@NotNull Connection conn) throws SQLException {
+        int version = readVersion(conn);
+        if (version > CURRENT_VERSION) {
+            throw new SQLException("Database schema version " + version + " is newer than supported version " + CURRENT_VERSION);
+        }
+        while (version < CURRENT_VERSION) {
+            conn.setAutoCommit(false);
+            try (Statement stmt = conn.createStatement()) {
+                steps.get(version).apply(conn);
+                version++;
+                stmt.execute("PRAGMA user_version = " + version);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            logger.info("Migrated database schema to version " + version + ".");
+        }
+    }
+
+    private int readVersion(@NotNull Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private void createLegacySchema(@NotNull Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS islands (
+                    owner TEXT PRIMARY KEY,
+                    type TEXT NOT NULL,
+                    world TEXT NOT NULL,
+                    x REAL NOT NULL,
+                    y REAL NOT NULL,
+                    z REAL NOT NULL,
+                    border_size INTEGER NOT NULL,
+                    upgrades TEXT NOT NULL,
+                    members TEXT NOT NULL
+                )
+                """);
+            stmt.execute("""
+                CREATE TABLE IF NOT EXISTS invites (
+                    inviter TEXT NOT NULL,
+                    invitee TEXT PRIMARY KEY,
+                    expiration INTEGER NOT NULL
+                )
+                """);
+        }
+    }
+
+    private void normalizeIslands(@NotNull Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE islands_v2 (
+                    owner BLOB PRIMARY KEY,
+                    type TEXT NOT NULL,
+                    world TEXT NOT NULL,
+                    x REAL NOT NULL,
+                    y REAL NOT NULL,
+                    z REAL NOT NULL,
+                    border_size INTEGER NOT NULL
+                ) WITHOUT ROWID
+                """);
+            stmt.execute("""
+                CREATE TABLE island_members (
+                    owner BLOB NOT NULL,
+                    member BLOB NOT NULL,
+                    PRIMARY KEY (owner, member)
+                ) WITHOUT ROWID
+                """);
+            stmt.execute("CREATE INDEX idx_island_members_member ON island_members (member)");
+            stmt.execute("""
+                CREATE TABLE island_upgrades (
+                    owner BLOB NOT NULL,
+                    upgrade TEXT NOT NULL,
+                    level INTEGER NOT NULL,
+                    PRIMARY KEY (owner, upgrade)
+                ) WITHOUT ROWID
+                """);
+        }
+        int migrated = 0;
+        try (Statement select = conn.createStatement();
+             ResultSet rs = select.executeQuery("SELECT * FROM islands");
+             PreparedStatement island = conn.prepareStatement(
+                     "INSERT OR REPLACE INTO islands_v2 (owner, type, world, x, y, z, border_size) VALUES (?, ?, ?, ?, ?, ?, ?)");
+             PreparedStatement member = conn.prepareStatement(
+                     "INSERT OR IGNORE INTO island_members (owner, member) VALUES (?, ?)");
+             PreparedStatement upgrade = conn.prepareStatement(
+                     "INSERT OR REPLACE INTO island_upgrades (owner, upgrade, level) VALUES (?, ?, ?)")) {
+            while (rs.next()) {
+                byte[] owner;
+                try {
+                    owner = UuidCodec.toBytes(UUID.fromString(rs.getString("owner")));
+                } catch (IllegalArgumentException e) {
+                    logger.warning("Skipping island with malformed owner: " + rs.getString("owner"));
+                    continue;
+                }
+                island.setBytes(1, owner);
+                island.setString(2, rs.getString("type"));
+                island.setString(3, rs.getString("world"));
+                island.setDouble(4, rs.getDouble("x"));
+                island.setDouble(5, rs.getDouble("y"));
+                island.setDouble(6, rs.getDouble("z"));
+                String members = rs.getString("members");
+                if (members != null && !members.isEmpty()) {
+                    for (String uuid : members.split(";")) {
+                        try {
+                            member.setBytes(1, owner);
+                            member.setBytes(2, UuidCodec.toBytes(UUID.fromString(uuid)));
+                            member.addBatch();
+                        } catch (IllegalArgumentException ignored) {
+                        }
+                    }
+                }
+                int borderSize = rs.getInt("border_size");
+                String upgrades = rs.getString("upgrades");
+                if (upgrades != null && !upgrades.isEmpty()) {
+                    for (String entry : upgrades.split(";")) {
+                        String[] parts = entry.split(":");
+                        if (parts.length == 2) {
+                            try {
+                                int level = Integer.parseInt(parts[1]);
+                                upgrade.setBytes(1, owner);
+                                upgrade.setString(2, parts[0]);
+                                upgrade.setInt(3, level);
+                                upgrade.addBatch();
+                                if (parts[0].equals(UpgradeType.BORDER.name())) {
+                                    // Upgrades grow the border by their level; keep what was paid for.
+                                    borderSize = Math.max(borderSize, Island.BASE_BORDER_SIZE + level);
+                                }
+                            } catch (NumberFormatException ignored) {
+                            }
+                        }
+                    }
+                }
+                island.setInt(7, borderSize);
+                island.addBatch();
+                migrated++;
+            }
+            island.executeBatch();
+            member.executeBatch();
+            upgrade.executeBatch();
+        }
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP TABLE islands");
+            stmt.execute("ALTER TABLE islands_v2 RENAME TO islands");
+        }
+        if (migrated > 0) {
+            logger.info("Normalized " + migrated + " island(s) into member and upgrade tables.");
+        }
+    }
+
+    private void createIslandPool(@NotNull Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE island_pool (
+                    id INTEGER PRIMARY KEY AUTOINCREMENT,
+                    type TEXT NOT NULL,
+                    world TEXT NOT NULL,
+                    x REAL NOT NULL,
+                    y REAL NOT NULL,
+                    z REAL NOT NULL
+                )
+                """);
+        }
+    }
+
+    private void createIslandSlots(@NotNull Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE island_slots (
+                    world TEXT NOT NULL,
+                    slot INTEGER NOT NULL,
+                    PRIMARY KEY (world, slot)
+                ) WITHOUT ROWID
+                """);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package gg.kite.storage;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+public final class UuidCodec {
+    private UuidCodec() {
+    }
+
+    @Contract("_ -> new")
+    public static byte @NotNull [] toBytes(@NotNull UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    @Contract("_ -> new")
+    public static @NotNull UUID fromBytes(byte @NotNull [] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
\ No newline at end of file
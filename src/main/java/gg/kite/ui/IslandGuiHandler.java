@@ -1,8 +1,10 @@
 package gg.kite.ui;
 
 import gg.kite.model.IslandType;
+import gg.kite.model.UpgradeRegistry;
 import gg.kite.model.UpgradeType;
 import gg.kite.service.IslandService;
+import gg.kite.service.UpgradeRegistryService;
 import gg.kite.util.MessageUtil;
 import jakarta.inject.Inject;
 import net.kyori.adventure.inventory.Book;
@@ -15,7 +17,8 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerCommandPreprocessEvent;
 import org.jetbrains.annotations.NotNull;
 
-public record IslandGuiHandler(IslandService islandService, MessageUtil messageUtil) implements Listener {
+public record IslandGuiHandler(IslandService islandService, UpgradeRegistryService upgradeRegistry,
+                               MessageUtil messageUtil) implements Listener {
     @Inject
     public IslandGuiHandler {
     }
@@ -49,8 +52,9 @@ public record IslandGuiHandler(IslandService islandService, MessageUtil messageU
         Book.Builder book = Book.builder();
         book.title(Component.text("Island Upgrades"));
         Component page = Component.text("Available upgrades:\n\n");
+        UpgradeRegistry registry = upgradeRegistry.registry();
         for (UpgradeType upgrade : UpgradeType.values()) {
-            page = page.append(Component.text(upgrade.getDisplayName(), NamedTextColor.BLUE)
+            page = page.append(Component.text(registry.displayName(upgrade), NamedTextColor.BLUE)
                             .clickEvent(ClickEvent.runCommand("/island upgrade " + upgrade.name().toLowerCase())))
                     .append(Component.text("\n"));
         }
@@ -0,0 +1,97 @@
+package gg.kite.service;
+
+import gg.kite.model.Island;
+import gg.kite.model.IslandBounds;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IslandGridTest {
+    private final UUID world = UUID.randomUUID();
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+
+    @Test
+    void findsOwnerInsideBorderOnly() {
+        IslandGrid grid = new IslandGrid();
+        grid.index(IslandBounds.of(first, world, 0, 0, Island.BASE_BORDER_SIZE));
+
+        assertEquals(first, grid.findOwner(world, 0, 0));
+        assertEquals(first, grid.findOwner(world, 37, 37));
+        assertEquals(first, grid.findOwner(world, -37, -37));
+        assertNull(grid.findOwner(world, 38, 0));
+        assertNull(grid.findOwner(world, 0, -38));
+        assertNull(grid.findOwner(UUID.randomUUID(), 0, 0));
+    }
+
+    @Test
+    void indexesEveryChunkTheBorderOverlaps() {
+        IslandGrid grid = new IslandGrid();
+        grid.index(IslandBounds.of(first, world, 0, 0, Island.BASE_BORDER_SIZE));
+
+        // Blocks -37..37 span chunks -3..2 on both axes.
+        for (int chunkX = -4; chunkX <= 3; chunkX++) {
+            for (int chunkZ = -4; chunkZ <= 3; chunkZ++) {
+                boolean covered = chunkX >= -3 && chunkX <= 2 && chunkZ >= -3 && chunkZ <= 2;
+                assertEquals(covered ? List.of(first) : List.of(), ownersIn(grid, chunkX, chunkZ),
+                        "chunk " + chunkX + ", " + chunkZ);
+            }
+        }
+    }
+
+    @Test
+    void reindexReplacesPreviousBounds() {
+        IslandGrid grid = new IslandGrid();
+        grid.index(IslandBounds.of(first, world, 0, 0, Island.BASE_BORDER_SIZE));
+        assertNull(grid.findOwner(world, 42, 0));
+
+        grid.index(IslandBounds.of(first, world, 0, 0, Island.BASE_BORDER_SIZE + 10));
+
+        assertEquals(first, grid.findOwner(world, 42, 0));
+        assertEquals(List.of(first), ownersIn(grid, 0, 0));
+        assertEquals(1, grid.size());
+    }
+
+    @Test
+    void removeLeavesNeighboursInSharedChunks() {
+        IslandGrid grid = new IslandGrid();
+        grid.index(IslandBounds.of(first, world, 0, 0, Island.BASE_BORDER_SIZE));
+        grid.index(IslandBounds.of(second, world, 80, 0, Island.BASE_BORDER_SIZE));
+        // Chunk 2 holds x 32..47: the first island ends at 37, the second starts at 43.
+        assertEquals(2, ownersIn(grid, 2, 0).size());
+        assertNull(grid.findOwner(world, 40, 0));
+
+        grid.remove(first);
+
+        assertFalse(grid.contains(first));
+        assertNull(grid.boundsOf(first));
+        assertNull(grid.findOwner(world, 0, 0));
+        assertEquals(List.of(second), ownersIn(grid, 2, 0));
+        assertEquals(second, grid.findOwner(world, 45, 0));
+        assertEquals(1, grid.size());
+    }
+
+    @Test
+    void removeOfLastIslandEmptiesTheWorld() {
+        IslandGrid grid = new IslandGrid();
+        grid.index(IslandBounds.of(first, world, 0, 0, Island.BASE_BORDER_SIZE));
+        grid.remove(first);
+        grid.remove(first);
+
+        assertEquals(0, grid.size());
+        assertEquals(List.of(), ownersIn(grid, 0, 0));
+
+        grid.index(IslandBounds.of(second, world, 0, 0, Island.BASE_BORDER_SIZE));
+        assertEquals(second, grid.findOwner(world, 0, 0));
+    }
+
+    private List<UUID> ownersIn(IslandGrid grid, int chunkX, int chunkZ) {
+        List<UUID> owners = new ArrayList<>();
+        grid.forEachOwnerInChunk(world, chunkX, chunkZ, owners::add);
+        return owners;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,72 @@
+package gg.kite.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IslandSlotAllocatorTest {
+    @Test
+    void originIsSlotZero() {
+        assertEquals(0, IslandSlotAllocator.slotOf(0, 0));
+        long cell = IslandSlotAllocator.cellOfSlot(0);
+        assertEquals(0, IslandSlotAllocator.cellX(cell));
+        assertEquals(0, IslandSlotAllocator.cellZ(cell));
+    }
+
+    @Test
+    void spiralNumbersEveryCellOfASquareExactlyOnce() {
+        int radius = 30;
+        int cells = (2 * radius + 1) * (2 * radius + 1);
+        BitSet seen = new BitSet(cells);
+        for (int cellX = -radius; cellX <= radius; cellX++) {
+            for (int cellZ = -radius; cellZ <= radius; cellZ++) {
+                int slot = IslandSlotAllocator.slotOf(cellX, cellZ);
+                assertTrue(slot >= 0 && slot < cells, "slot " + slot + " of " + cellX + ", " + cellZ);
+                assertFalse(seen.get(slot), "slot " + slot + " numbered twice");
+                seen.set(slot);
+            }
+        }
+        assertEquals(cells, seen.cardinality());
+    }
+
+    @Test
+    void slotsRoundTripThroughCells() {
+        for (int slot = 0; slot < 20_000; slot++) {
+            assertRoundTrip(slot);
+        }
+    }
+
+    @Test
+    void slotsFillRingsInOrder() {
+        for (int ring = 1; ring <= 50; ring++) {
+            int first = (2 * ring - 1) * (2 * ring - 1);
+            int last = (2 * ring + 1) * (2 * ring + 1) - 1;
+            assertEquals(ring - 1, chebyshevDistance(first - 1));
+            assertEquals(ring, chebyshevDistance(first));
+            assertEquals(ring, chebyshevDistance(last));
+        }
+    }
+
+    @Test
+    void farRingBoundariesSurviveRounding() {
+        for (int ring : new int[]{1_000, 11_585, 23_000}) {
+            int first = (2 * ring - 1) * (2 * ring - 1);
+            for (int slot = first - 2; slot <= first + 2; slot++) {
+                assertRoundTrip(slot);
+            }
+        }
+    }
+
+    private static void assertRoundTrip(int slot) {
+        long cell = IslandSlotAllocator.cellOfSlot(slot);
+        assertEquals(slot, IslandSlotAllocator.slotOf(IslandSlotAllocator.cellX(cell), IslandSlotAllocator.cellZ(cell)),
+                "slot " + slot);
+    }
+
+    private static int chebyshevDistance(int slot) {
+        long cell = IslandSlotAllocator.cellOfSlot(slot);
+        return Math.max(Math.abs(IslandSlotAllocator.cellX(cell)), Math.abs(IslandSlotAllocator.cellZ(cell)));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package gg.kite.storage;
+
+import gg.kite.model.Island;
+import gg.kite.model.IslandType;
+import gg.kite.model.UpgradeType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IslandChangeTest {
+    private final UUID owner = UUID.randomUUID();
+    private final UUID member = UUID.randomUUID();
+    private final Island island = new Island(owner, IslandType.BEACH, UUID.randomUUID(), 0, 64, 0,
+            Island.BASE_BORDER_SIZE, new int[0], new long[0]);
+
+    @Test
+    void addingThenRemovingAMemberCancelsOut() {
+        IslandChange change = new IslandChange(owner, 0L);
+        Island joined = island.withMember(member);
+        Island left = joined.withoutMember(member);
+
+        change.addMember(joined, member);
+        change.removeMember(left, member);
+
+        assertTrue(change.addedMembers().isEmpty());
+        assertTrue(change.removedMembers().isEmpty());
+        assertSame(left, change.island());
+    }
+
+    @Test
+    void removingThenAddingAMemberCancelsOut() {
+        IslandChange change = new IslandChange(owner, 0L);
+
+        change.removeMember(island, member);
+        change.addMember(island.withMember(member), member);
+
+        assertTrue(change.addedMembers().isEmpty());
+        assertTrue(change.removedMembers().isEmpty());
+    }
+
+    @Test
+    void keepsTheNewestSnapshot() {
+        IslandChange change = new IslandChange(owner, 0L);
+        Island older = island.withUpgradeLevel(UpgradeType.ORE_BOOSTER, 1);
+        Island newer = older.withUpgradeLevel(UpgradeType.CROPS_BOOSTER, 1);
+
+        change.changeUpgrade(newer, UpgradeType.CROPS_BOOSTER);
+        change.changeUpgrade(older, UpgradeType.ORE_BOOSTER);
+
+        assertSame(newer, change.island());
+        assertEquals(Set.of(UpgradeType.CROPS_BOOSTER, UpgradeType.ORE_BOOSTER), change.changedUpgrades());
+        assertFalse(change.fullRewrite());
+        assertFalse(change.rowChanged());
+    }
+
+    @Test
+    void rewriteSupersedesRowDeltas() {
+        IslandChange change = new IslandChange(owner, 0L);
+        Island joined = island.withMember(member);
+        change.addMember(joined, member);
+        change.changeUpgrade(joined, UpgradeType.BORDER);
+
+        Island reset = joined.cleared();
+        change.rewrite(reset);
+
+        assertTrue(change.fullRewrite());
+        assertTrue(change.addedMembers().isEmpty());
+        assertTrue(change.changedUpgrades().isEmpty());
+        assertSame(reset, change.island());
+    }
+
+    @Test
+    void deleteDropsPendingChanges() {
+        IslandChange change = new IslandChange(owner, 0L);
+        change.rewrite(island);
+        change.updateRow(island.withBorderSize(85));
+        change.addMember(island.withMember(member), member);
+
+        change.delete();
+
+        assertTrue(change.deleted());
+        assertNull(change.island());
+        assertFalse(change.fullRewrite());
+        assertFalse(change.rowChanged());
+        assertTrue(change.addedMembers().isEmpty());
+    }
+
+    @Test
+    void recreatingADeletedIslandRewritesIt() {
+        IslandChange change = new IslandChange(owner, 0L);
+        change.delete();
+
+        change.rewrite(island);
+
+        assertFalse(change.deleted());
+        assertTrue(change.fullRewrite());
+        assertSame(island, change.island());
+    }
+}
\ No newline at end of file
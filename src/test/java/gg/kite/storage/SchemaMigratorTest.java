@@ -0,0 +1,173 @@
+package gg.kite.storage;
+
+import gg.kite.model.Island;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigratorTest {
+    private final SchemaMigrator migrator = new SchemaMigrator(Logger.getLogger(SchemaMigratorTest.class.getName()));
+    private Connection conn;
+
+    @BeforeEach
+    void open() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+    }
+
+    @AfterEach
+    void close() throws SQLException {
+        conn.close();
+    }
+
+    @Test
+    void createsCurrentSchemaOnEmptyDatabase() throws SQLException {
+        migrator.migrate(conn);
+
+        assertEquals(SchemaMigrator.CURRENT_VERSION, userVersion());
+        assertEquals(Set.of("islands", "island_members", "island_upgrades", "island_pool", "island_slots", "invites"),
+                tables());
+    }
+
+    @Test
+    void migratingTwiceIsANoOp() throws SQLException {
+        migrator.migrate(conn);
+        migrator.migrate(conn);
+
+        assertEquals(SchemaMigrator.CURRENT_VERSION, userVersion());
+    }
+
+    @Test
+    void rejectsNewerSchema() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA user_version = " + (SchemaMigrator.CURRENT_VERSION + 1));
+        }
+
+        assertThrows(SQLException.class, () -> migrator.migrate(conn));
+    }
+
+    @Test
+    void normalizesLegacyIslands() throws SQLException {
+        UUID owner = UUID.randomUUID();
+        UUID firstMember = UUID.randomUUID();
+        UUID secondMember = UUID.randomUUID();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE islands (
+                    owner TEXT PRIMARY KEY,
+                    type TEXT NOT NULL,
+                    world TEXT NOT NULL,
+                    x REAL NOT NULL,
+                    y REAL NOT NULL,
+                    z REAL NOT NULL,
+                    border_size INTEGER NOT NULL,
+                    upgrades TEXT NOT NULL,
+                    members TEXT NOT NULL
+                )
+                """);
+        }
+        try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO islands VALUES (?, 'BEACH', 'ocean', 256, 64, -512, 75, ?, ?)")) {
+            stmt.setString(1, owner.toString());
+            stmt.setString(2, "BORDER:10;ORE_BOOSTER:2;CROPS_BOOSTER:oops");
+            stmt.setString(3, firstMember + ";" + secondMember + ";not-a-uuid");
+            stmt.executeUpdate();
+            stmt.setString(1, "not-a-uuid");
+            stmt.setString(2, "");
+            stmt.setString(3, "");
+            stmt.executeUpdate();
+        }
+
+        migrator.migrate(conn);
+
+        assertEquals(SchemaMigrator.CURRENT_VERSION, userVersion());
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM islands")) {
+            assertTrue(rs.next());
+            assertEquals(owner, UuidCodec.fromBytes(rs.getBytes("owner")));
+            assertEquals("BEACH", rs.getString("type"));
+            assertEquals("ocean", rs.getString("world"));
+            assertEquals(256.0, rs.getDouble("x"));
+            assertEquals(-512.0, rs.getDouble("z"));
+            // The stored size predates border upgrades; the level bought is carried over.
+            assertEquals(Island.BASE_BORDER_SIZE + 10, rs.getInt("border_size"));
+            assertFalse(rs.next(), "island with a malformed owner should be skipped");
+        }
+        Set<UUID> members = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT owner, member FROM island_members")) {
+            while (rs.next()) {
+                assertEquals(owner, UuidCodec.fromBytes(rs.getBytes("owner")));
+                members.add(UuidCodec.fromBytes(rs.getBytes("member")));
+            }
+        }
+        assertEquals(Set.of(firstMember, secondMember), members);
+        Map<String, Integer> upgrades = new HashMap<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT upgrade, level FROM island_upgrades")) {
+            while (rs.next()) {
+                upgrades.put(rs.getString("upgrade"), rs.getInt("level"));
+            }
+        }
+        assertEquals(Map.of("BORDER", 10, "ORE_BOOSTER", 2), upgrades);
+    }
+
+    @Test
+    void keepsLargerStoredBorder() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("""
+                CREATE TABLE islands (
+                    owner TEXT PRIMARY KEY,
+                    type TEXT NOT NULL,
+                    world TEXT NOT NULL,
+                    x REAL NOT NULL,
+                    y REAL NOT NULL,
+                    z REAL NOT NULL,
+                    border_size INTEGER NOT NULL,
+                    upgrades TEXT NOT NULL,
+                    members TEXT NOT NULL
+                )
+                """);
+            stmt.execute("INSERT INTO islands VALUES ('" + UUID.randomUUID() + "', 'BEACH', 'ocean', 0, 64, 0, 120, 'BORDER:5', '')");
+        }
+
+        migrator.migrate(conn);
+
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT border_size FROM islands")) {
+            assertTrue(rs.next());
+            assertEquals(120, rs.getInt(1));
+        }
+    }
+
+    private int userVersion() throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA user_version")) {
+            return rs.getInt(1);
+        }
+    }
+
+    private Set<String> tables() throws SQLException {
+        Set<String> tables = new HashSet<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT name FROM sqlite_master WHERE type = 'table' AND name NOT LIKE 'sqlite_%'")) {
+            while (rs.next()) {
+                tables.add(rs.getString(1));
+            }
+        }
+        return tables;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package gg.kite.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectHashMapTest {
+    @Test
+    void putGetAndRemove() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        assertNull(map.put(1L, "one"));
+        assertNull(map.put(-1L, "minus one"));
+        assertEquals("one", map.put(1L, "uno"));
+        assertEquals("uno", map.get(1L));
+        assertEquals("minus one", map.get(-1L));
+        assertNull(map.get(2L));
+        assertEquals(2, map.size());
+
+        assertEquals("uno", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertNull(map.get(1L));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void rejectsNullValues() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, null));
+    }
+
+    @Test
+    void clearEmptiesTheMap() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        for (long key = 0; key < 100; key++) {
+            map.put(key, "v" + key);
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        for (long key = 0; key < 100; key++) {
+            assertNull(map.get(key));
+        }
+    }
+
+    @Test
+    void keysStayReachableAfterRemovals() {
+        // A small table keeps probe chains long and makes them wrap around the end,
+        // which is where backward-shift deletion can go wrong.
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        List<Long> keys = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            if (keys.isEmpty() || random.nextInt(3) != 0) {
+                long key = random.nextInt(512) - 256L;
+                keys.add(key);
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            } else {
+                long key = keys.remove(random.nextInt(keys.size()));
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = -256; key < 256; key++) {
+            assertEquals(expected.get(key), map.get(key), "key " + key);
+        }
+    }
+
+    @Test
+    void chunkKeysOfNeighbouringChunksDoNotCollide() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        for (int x = -8; x <= 8; x++) {
+            for (int z = -8; z <= 8; z++) {
+                map.put(((long) x << 32) | (z & 0xFFFFFFFFL), x + "," + z);
+            }
+        }
+        assertEquals(17 * 17, map.size());
+        for (int x = -8; x <= 8; x++) {
+            for (int z = -8; z <= 8; z++) {
+                assertEquals(x + "," + z, map.get(((long) x << 32) | (z & 0xFFFFFFFFL)));
+            }
+        }
+    }
+}
\ No newline at end of file